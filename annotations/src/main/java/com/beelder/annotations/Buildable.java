@@ -32,4 +32,74 @@ public @interface Buildable {
      * Defines the access-modifiers for the generated builder class.
      */
     BuilderAccess builderAccess() default BuilderAccess.PUBLIC;
+
+    /**
+     * Defines the shape of the generated code, see {@link CodegenProfile}.
+     */
+    CodegenProfile profile() default CodegenProfile.DEFAULT;
+
+    /**
+     * Column order of delimited text records (e.g. CSV lines), each entry naming the building
+     * block filled from the respective column, empty entries skip a column. If not empty, the
+     * generated builder contains "fromDelimited" methods parsing such a record straight into
+     * the builder. Records with less or more columns than declared are rejected.
+     */
+    String[] delimitedColumns() default {};
+
+    /**
+     * If set to true, the generated build method returns a canonical instance, looked up in a
+     * bounded cache shared by all builders of the class. Equal instances are identified via
+     * equals/hashCode, which the class annotated with this has to override. The builder
+     * cannot be used anymore after building, calling its setters throws an IllegalStateException!
+     * <p>
+     *     The cache is 4-way set-associative: each instance is cached in one of four slots of the
+     *     set determined by its hash code. Within a set the least recently used instance is evicted
+     *     on a miss. Cached instances are strongly referenced until evicted. As the built object itself is
+     *     used as lookup key, it is still allocated on every build, even if an equal instance is
+     *     returned instead. The cache saves memory held by duplicates, not allocations.
+     * </p>
+     */
+    boolean canonical() default false;
+
+    /**
+     * Number of slots in the cache used by {@link #canonical()}, has to be a power of two.
+     */
+    int canonicalCacheSize() default 1024;
+
+    /**
+     * If set to true, the generated builder accepts pending values for its building blocks, as
+     * futures or suppliers run on an executor. The "buildAsync" method waits for all of them in
+     * parallel, sets their values and builds the object. Pending values are set last, overriding
+     * values set directly.
+     */
+    boolean asyncBlocks() default false;
+
+    /**
+     * If set to true, the generated builder tracks which building blocks have been set. It
+     * contains a "mergeFrom" method copying only the blocks set in another builder, as well
+     * as a "setFields" method returning their names. Each block has to take a single value, which
+     * has to be readable, i.e. the field accessible or a getter present, a compiler error is
+     * thrown otherwise.
+     */
+    boolean mergeable() default false;
+
+    /**
+     * If set to true, the generated builder can be filled by several threads at once without
+     * locking. Setters write their values into slots with release semantics, the build method
+     * takes a consistent snapshot of all blocks set, holding the values of every setter finished
+     * before and none running concurrently, which it waits for. It creates a new object and applies
+     * the snapshot to it, including the checks of the building blocks. Concurrent calls of the build
+     * method are serialized. Requires a constructor without parameters and cannot be combined with
+     * {@link #canonical()}, {@link #mergeable()} or {@link #asyncBlocks()}.
+     */
+    boolean concurrent() default false;
+
+    /**
+     * If set to true, the generated builder does not create the object up front, but keeps the
+     * values set in packed storage holding only the building blocks set so far. The build method
+     * creates a new object and applies the stored values, including the checks of the building
+     * blocks. Requires a constructor without parameters and cannot be combined with
+     * {@link #canonical()}, {@link #mergeable()} or {@link #concurrent()}.
+     */
+    boolean sparse() default false;
 }
@@ -0,0 +1,17 @@
+package com.beelder.annotations;
+
+/**
+ * Defines the shape of the code generated for a builder, see {@link Buildable#profile()}.
+ */
+public enum CodegenProfile {
+    /**
+     * Plain generated code, builders may be extended.
+     */
+    DEFAULT,
+    /**
+     * Keeps generated methods small enough to be inlined by the JIT: builders are final, null
+     * checks are plain comparisons and cold paths, like building error messages, are moved
+     * out of line.
+     */
+    JIT_FRIENDLY
+}
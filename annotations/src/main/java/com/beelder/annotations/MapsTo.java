@@ -0,0 +1,25 @@
+package com.beelder.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares mappings from the annotated class to the given classes, which have to be annotated
+ * with {@link Buildable}. For each of them a mapper class "SourceToTargetMapper" is generated
+ * into the package of the annotated class. Its static "map" method reads each building block of
+ * the target from the equally named field or getter of the source and sets it via the targets
+ * builder.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface MapsTo {
+    String QUALIFIED_NAME = "com.beelder.annotations.MapsTo";
+    String SIMPLE_NAME = "MapsTo";
+
+    /**
+     * The classes to map to.
+     */
+    Class<?>[] value();
+}
@@ -12,7 +12,7 @@ import java.lang.annotation.Target;
  * Allowed elements are fields and methods. The annotated element should reside in a class
  * marked with {@link Buildable}!
  * <p>
- *     For customization see {@link NonNull}
+ *     For customization see {@link NonNull}, {@link Min}, {@link Max}, {@link Size}, {@link Pattern}
  * </p>
  */
 @Target({ElementType.FIELD, ElementType.METHOD})
@@ -20,4 +20,19 @@ import java.lang.annotation.Target;
 public @interface BuildingBlock {
     String QUALIFIED_NAME = "com.beelder.annotations.buildingblock.BuildingBlock";
     String SIMPLE_NAME = "BuildingBlock";
+
+    /**
+     * Static method without parameters providing the default value of this building block, either
+     * the name of a method in the annotated class or of the form "package.Type::method". The
+     * generated build method calls it only if the building block has never been set.
+     */
+    String defaultProvider() default "";
+
+    /**
+     * If set to true, values set for this building block are accumulated instead of replaced.
+     * Numeric primitives are summed up, collections (declared as Collection, List or Set) are
+     * appended. Sums exceeding the range of byte, short or int blocks are rejected on build.
+     * Only used by builders generated with {@link Buildable#concurrent()}.
+     */
+    boolean accumulate() default false;
 }
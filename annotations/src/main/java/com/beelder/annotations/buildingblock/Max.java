@@ -0,0 +1,29 @@
+package com.beelder.annotations.buildingblock;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Used to add an upper bound check to the annotated field (has to be annotated with {@link BuildingBlock}
+ * and be numeric) in the generated builder! Null values of boxed types are not checked, see {@link NonNull}.
+ */
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.SOURCE)
+public @interface Max {
+    String QUALIFIED_NAME = "com.beelder.annotations.buildingblock.Max";
+    String SIMPLE_NAME = "Max";
+
+    /**
+     * The largest value allowed.
+     */
+    long value();
+
+    /**
+     * Resembles the message printed with the operation chosen.
+     */
+    String message() default "Value above maximum";
+
+    ErrorOperation operation() default ErrorOperation.THROW_EXC;
+}
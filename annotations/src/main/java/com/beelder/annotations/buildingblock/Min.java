@@ -0,0 +1,29 @@
+package com.beelder.annotations.buildingblock;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Used to add a lower bound check to the annotated field (has to be annotated with {@link BuildingBlock}
+ * and be numeric) in the generated builder! Null values of boxed types are not checked, see {@link NonNull}.
+ */
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.SOURCE)
+public @interface Min {
+    String QUALIFIED_NAME = "com.beelder.annotations.buildingblock.Min";
+    String SIMPLE_NAME = "Min";
+
+    /**
+     * The smallest value allowed.
+     */
+    long value();
+
+    /**
+     * Resembles the message printed with the operation chosen.
+     */
+    String message() default "Value below minimum";
+
+    ErrorOperation operation() default ErrorOperation.THROW_EXC;
+}
@@ -0,0 +1,30 @@
+package com.beelder.annotations.buildingblock;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Used to add a regular expression check to the annotated field (has to be annotated with {@link BuildingBlock}
+ * and be a char sequence) in the generated builder! The expression is compiled once per builder class and has
+ * to match the whole value. Null values are not checked, see {@link NonNull}.
+ */
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.SOURCE)
+public @interface Pattern {
+    String QUALIFIED_NAME = "com.beelder.annotations.buildingblock.Pattern";
+    String SIMPLE_NAME = "Pattern";
+
+    /**
+     * The regular expression, see {@link java.util.regex.Pattern}.
+     */
+    String regexp();
+
+    /**
+     * Resembles the message printed with the operation chosen.
+     */
+    String message() default "Value does not match pattern";
+
+    ErrorOperation operation() default ErrorOperation.THROW_EXC;
+}
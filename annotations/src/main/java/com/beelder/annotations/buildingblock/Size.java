@@ -0,0 +1,35 @@
+package com.beelder.annotations.buildingblock;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Used to add a size check to the annotated field (has to be annotated with {@link BuildingBlock} and be
+ * a char sequence, collection, map or array) in the generated builder! Null values are not checked, see
+ * {@link NonNull}.
+ */
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.SOURCE)
+public @interface Size {
+    String QUALIFIED_NAME = "com.beelder.annotations.buildingblock.Size";
+    String SIMPLE_NAME = "Size";
+
+    /**
+     * The smallest size allowed.
+     */
+    int min() default 0;
+
+    /**
+     * The largest size allowed.
+     */
+    int max() default Integer.MAX_VALUE;
+
+    /**
+     * Resembles the message printed with the operation chosen.
+     */
+    String message() default "Size out of bounds";
+
+    ErrorOperation operation() default ErrorOperation.THROW_EXC;
+}
@@ -0,0 +1,64 @@
+package com.beelder.annotations;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compiles the fixtures in "concurrent" with the processor and checks the scenarios printed by their runner, which
+ * accumulates into a shared concurrent builder from several threads.
+ */
+public class ConcurrentBuilderTest {
+    private static final String RUN = "concurrent.TallyRun";
+
+    private static List<String> scenarios;
+
+    @BeforeClass
+    public static void compileAndRunFixtures() throws Exception {
+        final Path out = ProcessorHarness.compile("/concurrent", source -> source);
+        scenarios = ProcessorHarness.run(out, RUN);
+    }
+
+    @Test
+    public void accumulatesFromAllThreads() {
+        assertScenario("accumulated", "shared/40000/80000/40000/nobody");
+    }
+
+    @Test
+    public void buildsNewObjectEachTime() {
+        assertScenario("rebuilt", "shared/40001/80000/40000/nobody");
+        assertScenario("fresh", "true");
+    }
+
+    @Test
+    public void appliesDefaultsForUnsetBlocks() {
+        assertScenario("unset", "unset/0/0/null/nobody");
+    }
+
+    @Test
+    public void rejectsNullOnBuild() {
+        assertScenario("null label", "Null argument found");
+    }
+
+    @Test
+    public void rejectsSumsExceedingInt() {
+        assertScenario("overflow", "Sum of building block small exceeds the range of int");
+    }
+
+    @Test
+    public void rejectsNullAccumulation() {
+        assertScenario("null accumulation", "Cannot accumulate null into building block seen");
+    }
+
+    private static void assertScenario(final String scenario, final String expected) {
+        final String prefix = scenario + ": ";
+        final String actual = scenarios.stream().filter(line -> line.startsWith(prefix)).findFirst()
+                .map(line -> line.substring(prefix.length()))
+                .orElseThrow(() -> new AssertionError("Scenario " + scenario + " not printed: " + scenarios));
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,102 @@
+package com.beelder.annotations;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles the fixtures in "jit" with the processor, once with {@link CodegenProfile#JIT_FRIENDLY} and once with
+ * {@link CodegenProfile#DEFAULT}, and runs their caller loop with inlining diagnostics. Every property checked for
+ * the jit friendly builder is checked against the default builder of the same fixture as well, which has to miss it.
+ */
+public class JitFriendlyInliningTest {
+    private static final String BUILDER = "jit.HotBuilder";
+    private static final String LOOP = "jit.HotLoop";
+    private static final String UNKNOWN_BLOCK = "unknownBlock";
+    private static final Pattern BYTES = Pattern.compile("\\((\\d+) bytes\\)");
+
+    private static Path jitFriendly;
+    private static Path defaultProfile;
+    private static List<String> jitFriendlyInlining;
+    private static List<String> defaultInlining;
+
+    @BeforeClass
+    public static void compileAndRunFixtures() throws Exception {
+        jitFriendly = ProcessorHarness.compile("/jit", source -> source);
+        defaultProfile = ProcessorHarness.compile("/jit", source -> source.replace("CodegenProfile.JIT_FRIENDLY", "CodegenProfile.DEFAULT"));
+        jitFriendlyInlining = ProcessorHarness.run(jitFriendly, LOOP, "-XX:+UnlockDiagnosticVMOptions", "-XX:+PrintInlining");
+        defaultInlining = ProcessorHarness.run(defaultProfile, LOOP, "-XX:+UnlockDiagnosticVMOptions", "-XX:+PrintInlining");
+    }
+
+    @Test
+    public void builderIsFinal() throws Exception {
+        assertTrue(Modifier.isFinal(ProcessorHarness.load(jitFriendly, BUILDER).getModifiers()));
+        assertFalse(Modifier.isFinal(ProcessorHarness.load(defaultProfile, BUILDER).getModifiers()));
+    }
+
+    @Test
+    public void nullCheckingSetterFitsMaxInlineSize() {
+        final int maxInlineSize = Integer.parseInt(ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class)
+                .getVMOption("MaxInlineSize").getValue());
+        final int jitFriendlySize = bytecodeSize(jitFriendlyInlining, "setName");
+
+        assertTrue("setName takes " + jitFriendlySize + " bytes", jitFriendlySize <= maxInlineSize);
+        assertTrue(jitFriendlySize < bytecodeSize(defaultInlining, "setName"));
+    }
+
+    @Test
+    public void unknownBlockIsCreatedOutOfLine() throws Exception {
+        assertTrue(declaresUnknownBlock(jitFriendly));
+        assertFalse(declaresUnknownBlock(defaultProfile));
+        assertTrue(bytecodeSize(jitFriendlyInlining, "set") < bytecodeSize(defaultInlining, "set"));
+    }
+
+    @Test
+    public void settersAndBuildAreInlinedIntoCallerLoop() {
+        assertInlinedHot("setName", "inline (hot)");
+        assertInlinedHot("setCount", "inline (hot)");
+        // The optimizing compiler reports trivial methods, like a build method returning the object, as accessors
+        assertInlinedHot("build", "inline (hot)", "accessor");
+    }
+
+    private static boolean declaresUnknownBlock(final Path out) throws Exception {
+        return Stream.of(ProcessorHarness.load(out, BUILDER).getDeclaredMethods()).anyMatch(m -> UNKNOWN_BLOCK.equals(m.getName()));
+    }
+
+    /**
+     * @return All inlining decisions printed for calls of the given method of the builder
+     */
+    private static Stream<String> calls(final List<String> inlining, final String method) {
+        final String callee = BUILDER + "::" + method + " ";
+        return inlining.stream().filter(line -> line.contains(callee)).map(String::trim);
+    }
+
+    private static int bytecodeSize(final List<String> inlining, final String method) {
+        final String call = calls(inlining, method).findFirst()
+                .orElseThrow(() -> new AssertionError(BUILDER + "::" + method + " was not called in the loop"));
+        final Matcher matcher = BYTES.matcher(call);
+        assertTrue("No bytecode size printed: " + call, matcher.find());
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    /**
+     * Asserts that the given method of the jit friendly builder was inlined with one of the given decisions at least once.
+     */
+    private static void assertInlinedHot(final String method, final String... decisions) {
+        assertTrue(String.format("%s::%s was not inlined hot:%n%s", BUILDER, method, calls(jitFriendlyInlining, method)
+                        .collect(Collectors.joining("\n"))),
+                calls(jitFriendlyInlining, method).anyMatch(line -> Stream.of(decisions).anyMatch(line::endsWith)));
+    }
+}
@@ -0,0 +1,95 @@
+package com.beelder.annotations;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles fixture sources from the test resources with the processor and runs them in a new JVM.
+ */
+final class ProcessorHarness {
+    private static final String PROCESSOR = "com.beelder.processor.BuilderProcessor";
+    private static final String CLASSPATH = System.getProperty("java.class.path");
+
+    private ProcessorHarness() {
+        // Util class
+    }
+
+    /**
+     * Compiles all fixtures in the given resource directory with the processor.
+     *
+     * @param fixtures Resource directory of the fixtures, e.g. "/jit"
+     * @param edit Applied to the content of each fixture before compiling it
+     * @return The directory holding the compiled classes
+     */
+    static Path compile(final String fixtures, final UnaryOperator<String> edit) throws Exception {
+        final Path resources = Paths.get(ProcessorHarness.class.getResource(fixtures).toURI());
+        final Path sourceDir = Files.createTempDirectory("beelder-src");
+        final Path out = Files.createTempDirectory("beelder-out");
+
+        final List<File> sources = new ArrayList<>();
+        try(Stream<Path> files = Files.list(resources)) {
+            for(final Path file:files.filter(f -> f.toString().endsWith(".java")).collect(Collectors.toList())) {
+                final Path source = sourceDir.resolve(file.getFileName().toString());
+                Files.writeString(source, edit.apply(Files.readString(file, StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+                sources.add(source.toFile());
+            }
+        }
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try(StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final List<String> options = List.of("-d", out.toString(), "-classpath", CLASSPATH, "-processor", PROCESSOR);
+            final boolean compiled = compiler.getTask(null, fileManager, null, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(sources)).call();
+            assertTrue("Fixtures in " + fixtures + " could not be compiled with the processor", compiled);
+        }
+
+        return out;
+    }
+
+    /**
+     * Runs the given main class in a new JVM, compiling in the foreground so all diagnostics are printed before it exits.
+     *
+     * @return The lines printed by the JVM
+     */
+    static List<String> run(final Path out, final String mainClass, final String... jvmOptions) throws Exception {
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(List.of(jvmOptions));
+        command.addAll(List.of("-Xbatch", "-cp", out + File.pathSeparator + CLASSPATH, mainClass));
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        final List<String> lines;
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            lines = reader.lines().collect(Collectors.toList());
+        }
+
+        assertEquals(mainClass + " failed:\n" + String.join("\n", lines), 0, process.waitFor());
+        return lines;
+    }
+
+    /**
+     * Loads the given compiled class, resolving the annotations and runtime from the test classpath.
+     */
+    static Class<?> load(final Path out, final String className) throws Exception {
+        final URLClassLoader loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, ProcessorHarness.class.getClassLoader());
+        return Class.forName(className, false, loader);
+    }
+}
@@ -0,0 +1,34 @@
+package concurrent;
+
+import com.beelder.annotations.Buildable;
+import com.beelder.annotations.buildingblock.BuildingBlock;
+import com.beelder.annotations.buildingblock.NonNull;
+
+import java.util.List;
+
+@Buildable(concurrent = true)
+public class Tally {
+    @BuildingBlock
+    @NonNull
+    String label;
+    @BuildingBlock(accumulate = true)
+    long hits;
+    @BuildingBlock(accumulate = true)
+    int small;
+    @BuildingBlock(accumulate = true)
+    List<? extends CharSequence> seen;
+    @BuildingBlock(defaultProvider = "defaultOwner")
+    String owner;
+
+    Tally() {
+    }
+
+    static String defaultOwner() {
+        return "nobody";
+    }
+
+    @Override
+    public String toString() {
+        return label + "/" + hits + "/" + small + "/" + (seen == null ? null : seen.size()) + "/" + owner;
+    }
+}
@@ -0,0 +1,48 @@
+package concurrent;
+
+import java.util.List;
+
+/**
+ * Prints one line per scenario, as "scenario: result".
+ */
+public final class TallyRun {
+    static final int THREADS = 4;
+    static final int ROUNDS = 10_000;
+
+    public static void main(final String[] args) throws InterruptedException {
+        final TallyBuilder shared = new TallyBuilder();
+        final Thread[] threads = new Thread[THREADS];
+        for(int i = 0; i < THREADS; i++) {
+            threads[i] = new Thread(() -> {
+                for(int j = 0; j < ROUNDS; j++) {
+                    shared.setHits(1).setSmall(2).setSeen(List.of("x"));
+                }
+            });
+            threads[i].start();
+        }
+        shared.setLabel("shared");
+        for(final Thread thread:threads) {
+            thread.join();
+        }
+
+        final Tally first = shared.build();
+        final Tally second = shared.setHits(1).build();
+        System.out.println("accumulated: " + first);
+        System.out.println("rebuilt: " + second);
+        System.out.println("fresh: " + (first != second));
+        System.out.println("unset: " + new TallyBuilder().setLabel("unset").build());
+
+        run("null label", () -> new TallyBuilder().setLabel(null).build());
+        run("overflow", () -> new TallyBuilder().setLabel("overflow").setSmall(Integer.MAX_VALUE).setSmall(1).build());
+        run("null accumulation", () -> new TallyBuilder().setSeen(null));
+    }
+
+    private static void run(final String scenario, final Runnable runnable) {
+        try {
+            runnable.run();
+            System.out.println(scenario + ": passed");
+        } catch(IllegalArgumentException e) {
+            System.out.println(scenario + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package jit;
+
+import com.beelder.annotations.Buildable;
+import com.beelder.annotations.CodegenProfile;
+import com.beelder.annotations.buildingblock.BuildingBlock;
+import com.beelder.annotations.buildingblock.ErrorOperation;
+import com.beelder.annotations.buildingblock.NonNull;
+
+@Buildable(profile = CodegenProfile.JIT_FRIENDLY)
+public class Hot {
+    @BuildingBlock @NonNull(operation = ErrorOperation.THROW_EXC) String name;
+    @BuildingBlock int count;
+
+    Hot() {
+    }
+}
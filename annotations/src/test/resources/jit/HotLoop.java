@@ -0,0 +1,15 @@
+package jit;
+
+public final class HotLoop {
+    public static void main(final String[] args) {
+        long sum = 0;
+        for(int i = 0; i < 100_000; i++) {
+            sum += build(i);
+        }
+        System.out.println(sum);
+    }
+
+    private static int build(final int i) {
+        return new HotBuilder().setName("hot").setCount(i).set("count", i).build().count;
+    }
+}
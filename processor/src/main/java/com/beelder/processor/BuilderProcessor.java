@@ -1,12 +1,20 @@
 package com.beelder.processor;
 
 import com.beelder.annotations.Buildable;
+import com.beelder.annotations.MapsTo;
 import com.beelder.annotations.buildingblock.BuildingBlock;
+import com.beelder.annotations.buildingblock.Max;
+import com.beelder.annotations.buildingblock.Min;
 import com.beelder.annotations.buildingblock.NonNull;
+import com.beelder.annotations.buildingblock.Pattern;
+import com.beelder.annotations.buildingblock.Size;
+import com.beelder.processor.constants.BeelderConstants;
 import com.beelder.processor.handler.BuildableHandler;
 import com.beelder.processor.handler.BuildingBlockHandler;
 import com.beelder.processor.handler.ClazzBuildingHandler;
+import com.beelder.processor.handler.ConstraintHandler;
 import com.beelder.processor.handler.IAnnotationHandler;
+import com.beelder.processor.handler.MappingHandler;
 import com.beelder.processor.handler.NonNullHandler;
 import com.google.auto.service.AutoService;
 import org.slf4j.Logger;
@@ -16,6 +24,7 @@ import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Processor;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.TypeElement;
@@ -23,7 +32,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
-@SupportedAnnotationTypes({Buildable.QUALIFIED_NAME, BuildingBlock.QUALIFIED_NAME, NonNull.QUALIFIED_NAME})
+@SupportedAnnotationTypes({Buildable.QUALIFIED_NAME, BuildingBlock.QUALIFIED_NAME, NonNull.QUALIFIED_NAME, MapsTo.QUALIFIED_NAME,
+        Min.QUALIFIED_NAME, Max.QUALIFIED_NAME, Size.QUALIFIED_NAME, Pattern.QUALIFIED_NAME})
+@SupportedOptions(BeelderConstants.REGISTRY_NAME_OPTION)
 @SupportedSourceVersion(SourceVersion.RELEASE_11)
 @AutoService(Processor.class)
 public final class BuilderProcessor extends AbstractProcessor {
@@ -35,6 +46,8 @@ public final class BuilderProcessor extends AbstractProcessor {
         handlers.add(new BuildableHandler());
         handlers.add(new BuildingBlockHandler());
         handlers.add(new NonNullHandler());
+        handlers.add(new ConstraintHandler());
+        handlers.add(new MappingHandler());
         handlers.add(new ClazzBuildingHandler());
     }
 
@@ -39,4 +39,12 @@ public final class ClazzBuilder {
     public static Set<Clazz> fetchAllClazzes() {
         return instance.cache.values().stream().collect(Collectors.toUnmodifiableSet());
     }
+
+    /**
+     * Removes all stored classes once their sources are written, so a processor loaded once by a build tool
+     * starts each compilation without the classes of the previous one.
+     */
+    public static void clear() {
+        instance.cache.clear();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.beelder.processor.classbuilder.entities;
+
+/**
+ * Resembles a single building block of a generated builder, i.e. a field or method
+ * annotated with {@link com.beelder.annotations.buildingblock.BuildingBlock} and
+ * the setter {@link Method} generated for it.
+ */
+public class Block {
+    /**
+     * Name of this block, the field name or the setter name without "set" prefix.
+     */
+    private final String name;
+    /**
+     * The generated setter of this block.
+     */
+    private final Method setter;
+    /**
+     * Position of this block in its class, in order of registration.
+     */
+    private int index;
+    /**
+     * Expression providing the default value of this block, null if there is none.
+     */
+    private String defaultProvider;
+    /**
+     * Expression reading the value of this block from the built object, with "%s" in place of the
+     * object, e.g. "%s.getField()". Null if the value cannot be read by the builder.
+     */
+    private String readExpression;
+    /**
+     * If set to true, the setter of this block marks it as set in the builders set blocks mask.
+     */
+    private boolean tracked = false;
+    /**
+     * If set to true, values set for this block are accumulated instead of replaced.
+     */
+    private boolean accumulating = false;
+
+    public Block(final String name, final Method setter) {
+        this.name = name;
+        this.setter = setter;
+    }
+
+    /**
+     * @return True if the setter of this block accepts a single value, false otherwise
+     */
+    public boolean isSingleValued() {
+        return this.setter.parameterNum() == 1;
+    }
+
+    /**
+     * @return The type of the value accepted by this blocks setter, null if not single valued
+     */
+    public String getValueType() {
+        return isSingleValued() ? this.setter.getParameters().get(0).getType() : null;
+    }
+
+    /**
+     * @return True if the value accepted by this blocks setter is primitive, false otherwise
+     */
+    public boolean isPrimitive() {
+        return isSingleValued() && this.setter.getParameters().get(0).isPrimitive();
+    }
+
+    /**
+     * @param source Expression referencing the built object
+     * @return Expression reading the value of this block from the given source, null if not readable
+     */
+    public String readFrom(final String source) {
+        return isReadable() ? String.format(this.readExpression, source) : null;
+    }
+
+    /**
+     * @return True if the value of this block can be read by the builder, false otherwise
+     */
+    public boolean isReadable() {
+        return this.readExpression != null;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Method getSetter() {
+        return this.setter;
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getDefaultProvider() {
+        return this.defaultProvider;
+    }
+
+    public void setDefaultProvider(String defaultProvider) {
+        this.defaultProvider = defaultProvider;
+    }
+
+    public void setReadExpression(String readExpression) {
+        this.readExpression = readExpression;
+    }
+
+    public boolean isAccumulating() {
+        return this.accumulating;
+    }
+
+    public void setAccumulating(boolean accumulating) {
+        this.accumulating = accumulating;
+    }
+
+    public boolean isTracked() {
+        return this.tracked;
+    }
+
+    public void setTracked(boolean tracked) {
+        this.tracked = tracked;
+    }
+}
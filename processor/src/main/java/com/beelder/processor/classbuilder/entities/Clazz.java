@@ -3,6 +3,7 @@ package com.beelder.processor.classbuilder.entities;
 import com.beelder.processor.utils.BeelderUtils;
 
 import javax.annotation.Nullable;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,9 +11,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static com.beelder.processor.utils.StringBuilderUtils.indent;
 
@@ -25,14 +29,30 @@ public class Clazz extends Type {
      * Maps method names to {@link Method} objects residing in this class.
      */
     private final Map<String, Method> methods = new HashMap<>();
+    /**
+     * Methods not accessible by name, e.g. overloads of methods in {@link #methods}.
+     */
+    private final List<Method> overloads = new ArrayList<>();
     /**
      * Contains all constructors of this class as {@link Method} objects.
      */
     private final List<Method> constructors = new ArrayList<>();
+    /**
+     * Maps building block names to {@link Block} objects, in order of their registration.
+     */
+    private final Map<String, Block> buildingBlocks = new LinkedHashMap<>();
     /**
      * This classes package.
      */
     private String packageIdent;
+    /**
+     * The element this class is generated from, might be null.
+     */
+    private Element sourceElement;
+    /**
+     * Simple names of types which must not be imported, e.g. declared in the package of this class.
+     */
+    private final Set<String> reservedNames = new HashSet<>();
 
     public Clazz(String key) {
         super(key);
@@ -40,17 +60,48 @@ public class Clazz extends Type {
 
     @Override
     public String build(final int depth) {
+        final StringBuilder bodyString = new StringBuilder();
+        createClazzHeader(bodyString, depth);
+        buildCollection(this.variables, bodyString, depth, ";\n");
+        bodyString.append("\n");
+        buildCollection(this.constructors, bodyString, depth, "\n\n");
+        buildCollection(this.methods.values(), bodyString, depth, "\n\n");
+        buildCollection(this.overloads, bodyString, depth, "\n\n");
+        bodyString.append("}");
+
+        final Imports imports = createImports();
+        final String body = imports.shorten(bodyString.toString());
+
         final StringBuilder clazzString = new StringBuilder();
         createPackageLine(clazzString, depth);
         clazzString.append("\n");
-        createClazzHeader(clazzString, depth);
-        buildCollection(this.variables, clazzString, depth, ";\n");
-        clazzString.append("\n");
-        buildCollection(this.constructors, clazzString, depth, "\n\n");
-        buildCollection(this.methods.values(), clazzString, depth, "\n\n");
+        createImportLines(imports, clazzString, depth);
+        return clazzString.append(body).toString();
+    }
+
+    /**
+     * Creates the imports of this class, qualified names in the packages of all variable, parameter
+     * and return types will be shortened.
+     */
+    private Imports createImports() {
+        final Set<String> reserved = new HashSet<>(this.reservedNames);
+        reserved.add(getKey());
+
+        final Imports imports = new Imports(this.packageIdent, reserved);
+        this.variables.forEach(var -> imports.addRootsOf(var.getType()));
+        Stream.of(this.constructors, this.methods.values(), this.overloads).flatMap(Collection::stream).forEach(method -> {
+            imports.addRootsOf(method.getReturnType());
+            method.getParameters().forEach(var -> imports.addRootsOf(var.getType()));
+        });
 
-        clazzString.append("}");
-        return clazzString.toString();
+        return imports;
+    }
+
+    private void createImportLines(final Imports imports, final StringBuilder sb, final int depth) {
+        imports.getImports().forEach(i -> indent(sb, depth).append("import ").append(i).append(";\n"));
+        if(!imports.getImports().isEmpty()) {
+            sb.append("\n");
+        }
     }
 
     private void buildCollection(final Collection<? extends Type> col, final StringBuilder sb, final int depth, final String suffix) {
@@ -72,6 +123,13 @@ public class Clazz extends Type {
         this.constructors.add(method);
     }
 
+    /**
+     * @return True if this class contains a constructor without parameters, false otherwise
+     */
+    public boolean hasDefaultConstructor() {
+        return this.constructors.stream().anyMatch(con -> con.parameterNum() == 0);
+    }
+
     public boolean containsMethod(final String key) {
         return this.methods.containsKey(key);
     }
@@ -87,6 +145,30 @@ public class Clazz extends Type {
         return this.methods.computeIfAbsent(key, Method::new);
     }
 
+    /**
+     * Renames the {@link Method} with the given name in this class, if existing.
+     *
+     * @param key The current method name
+     * @param newKey The new method name
+     */
+    public void renameMethod(final String key, final String newKey) {
+        final Method method = this.methods.remove(key);
+        if(Objects.nonNull(method)) {
+            method.setKey(newKey);
+            this.methods.put(newKey, method);
+        }
+    }
+
+    /**
+     * Adds a method to this class, which will not be accessible by its name. Should be
+     * used for overloads of methods already contained.
+     *
+     * @param method The method object
+     */
+    public void addOverload(final Method method) {
+        this.overloads.add(method);
+    }
+
     /**
      * Adds a new {@link Variable} to this class.
      *
@@ -124,11 +206,64 @@ public class Clazz extends Type {
         return Collections.unmodifiableSet(this.variables);
     }
 
+    /**
+     * Adds a new {@link Block} to this class and assigns its index, if no block with the same
+     * name exists.
+     */
+    public void addBuildingBlock(final Block block) {
+        if(this.buildingBlocks.containsKey(block.getName())) {
+            return;
+        }
+
+        block.setIndex(this.buildingBlocks.size());
+        this.buildingBlocks.put(block.getName(), block);
+    }
+
+    /**
+     * @return Unmodifiable collection with all building blocks of this class
+     */
+    public Collection<Block> getBuildingBlocks() {
+        return Collections.unmodifiableCollection(this.buildingBlocks.values());
+    }
+
+    /**
+     * @return The building block for the given name, null if not existing
+     */
+    public Block getBuildingBlock(final String name) {
+        return this.buildingBlocks.get(name);
+    }
+
     public Variable getVariableFor(final String name) {
         return this.variables.stream().filter(var -> name.equals(var.getKey())).findFirst().orElse(null);
     }
 
+    /**
+     * @return The qualified name of this class, usually "package + key"
+     */
+    public String getQualifiedName() {
+        return Objects.isNull(this.packageIdent) ? getKey() : this.packageIdent.concat(".").concat(getKey());
+    }
+
+    public String getPackageIdent() {
+        return this.packageIdent;
+    }
+
     public void setPackageIdent(String packageIdent) {
         this.packageIdent = packageIdent;
     }
+
+    /**
+     * Adds simple names of types which must not be imported by this class.
+     */
+    public void addReservedNames(final Collection<String> names) {
+        this.reservedNames.addAll(names);
+    }
+
+    public Element getSourceElement() {
+        return this.sourceElement;
+    }
+
+    public void setSourceElement(Element sourceElement) {
+        this.sourceElement = sourceElement;
+    }
 }
@@ -0,0 +1,223 @@
+package com.beelder.processor.classbuilder.entities;
+
+import com.beelder.runtime.Reflection;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+
+/**
+ * Shortens qualified type names in the source of a generated class to simple names and collects
+ * the import statements needed for them. Names stay qualified if their simple name is ambiguous,
+ * e.g. used by another type or declared in the package of the class. String and char literals
+ * are left untouched.
+ */
+final class Imports {
+    private static final String JAVA_LANG = "java.lang";
+
+    /**
+     * Package of the generated class.
+     */
+    private final String packageIdent;
+    /**
+     * Simple names which must not be imported, e.g. of types in the package of the class.
+     */
+    private final Set<String> reserved = new HashSet<>();
+    /**
+     * Root segments of packages whose types may be shortened, e.g. "java" or the one of the runtime helpers.
+     */
+    private final Set<String> roots = new HashSet<>();
+    /**
+     * Maps simple names to all qualified names found for them.
+     */
+    private final Map<String, Set<String>> found = new HashMap<>();
+    /**
+     * Maps qualified names to the names used in the shortened source.
+     */
+    private final Map<String, String> shortened = new HashMap<>();
+    /**
+     * All qualified names to import, sorted.
+     */
+    private final Set<String> imports = new TreeSet<>();
+
+    Imports(final String packageIdent, final Set<String> reserved) {
+        this.packageIdent = packageIdent;
+        this.reserved.addAll(reserved);
+        this.roots.add("java");
+        this.roots.add("javax");
+        this.roots.add(rootOf(Reflection.class.getPackageName()));
+        if(packageIdent != null) {
+            this.roots.add(rootOf(packageIdent));
+        }
+    }
+
+    /**
+     * Allows shortening types in the package of the given type, e.g. of a parameter or field.
+     *
+     * @param type The types source, e.g. "java.util.List<com.foo.Bar>"
+     */
+    void addRootsOf(final String type) {
+        scan(type, chain -> {
+            if(typeSegmentStart(chain) > 0) {
+                this.roots.add(rootOf(chain));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Shortens all qualified type names in the given source.
+     *
+     * @param source The source of the class body
+     * @return The shortened source
+     */
+    String shorten(final String source) {
+        scan(source, chain -> {
+            final int typeStart = typeSegmentStart(chain);
+            if(typeStart < 0) {
+                return null;
+            }
+            if(typeStart == 0) {
+                this.reserved.add(segmentAt(chain, 0));
+            } else if(this.roots.contains(rootOf(chain))) {
+                final String qualified = qualifiedTypeOf(chain, typeStart);
+                this.found.computeIfAbsent(segmentAt(chain, typeStart), k -> new TreeSet<>()).add(qualified);
+            }
+            return null;
+        });
+
+        this.found.forEach(this::resolve);
+
+        return scan(source, chain -> {
+            final int typeStart = typeSegmentStart(chain);
+            if(typeStart <= 0) {
+                return null;
+            }
+
+            final String qualified = qualifiedTypeOf(chain, typeStart);
+            final String replacement = this.shortened.get(qualified);
+            return replacement == null ? null : replacement + chain.substring(qualified.length());
+        });
+    }
+
+    /**
+     * @return All qualified names to import, sorted
+     */
+    Set<String> getImports() {
+        return this.imports;
+    }
+
+    /**
+     * Decides how to reference all qualified names found for the given simple name. Types in the
+     * package of the class win over others, the rest is imported if unambiguous.
+     */
+    private void resolve(final String simpleName, final Set<String> qualifiedNames) {
+        final String local = this.packageIdent + "." + simpleName;
+        if(qualifiedNames.contains(local)) {
+            this.shortened.put(local, simpleName);
+            return;
+        }
+        if(qualifiedNames.size() > 1 || this.reserved.contains(simpleName)) {
+            return;
+        }
+
+        final String qualified = qualifiedNames.iterator().next();
+        this.shortened.put(qualified, simpleName);
+        if(!qualified.equals(JAVA_LANG + "." + simpleName)) {
+            this.imports.add(qualified);
+        }
+    }
+
+    /**
+     * Calls the given replacer for every chain of dot separated identifiers outside of literals.
+     *
+     * @return The source with all chains replaced, for which the replacer did not return null
+     */
+    private static String scan(final String source, final UnaryOperator<String> replacer) {
+        final StringBuilder sb = new StringBuilder(source.length());
+        int i = 0;
+        while(i < source.length()) {
+            final char c = source.charAt(i);
+            if(c == '"' || c == '\'') {
+                final int end = skipLiteral(source, i);
+                sb.append(source, i, end);
+                i = end;
+            } else if(Character.isJavaIdentifierStart(c) && (i == 0 || !isChainPart(source.charAt(i - 1)))) {
+                final int end = chainEnd(source, i);
+                final String chain = source.substring(i, end);
+                final String replacement = replacer.apply(chain);
+                sb.append(replacement == null ? chain : replacement);
+                i = end;
+            } else {
+                sb.append(c);
+                i++;
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static boolean isChainPart(final char c) {
+        return c == '.' || Character.isJavaIdentifierPart(c);
+    }
+
+    private static int skipLiteral(final String source, final int begin) {
+        final char quote = source.charAt(begin);
+        int i = begin + 1;
+        while(i < source.length() && source.charAt(i) != quote) {
+            i += source.charAt(i) == '\\' ? 2 : 1;
+        }
+
+        return Math.min(i + 1, source.length());
+    }
+
+    private static int chainEnd(final String source, final int begin) {
+        int i = begin;
+        while(i < source.length()) {
+            if(Character.isJavaIdentifierPart(source.charAt(i))) {
+                i++;
+            } else if(source.charAt(i) == '.' && i + 1 < source.length() && Character.isJavaIdentifierStart(source.charAt(i + 1))) {
+                i++;
+            } else {
+                break;
+            }
+        }
+
+        return i;
+    }
+
+    /**
+     * @return Index of the first segment starting upper case, if all segments before start lower
+     * case, -1 otherwise
+     */
+    private static int typeSegmentStart(final String chain) {
+        final String[] segments = chain.split("\\.");
+        for(int i = 0; i < segments.length; i++) {
+            if(Character.isUpperCase(segments[i].charAt(0))) {
+                return i;
+            }
+            if(!Character.isLowerCase(segments[i].charAt(0))) {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+    private static String segmentAt(final String chain, final int index) {
+        return chain.split("\\.")[index];
+    }
+
+    private static String qualifiedTypeOf(final String chain, final int typeStart) {
+        return String.join(".", Arrays.copyOf(chain.split("\\."), typeStart + 1));
+    }
+
+    private static String rootOf(final String name) {
+        final int dot = name.indexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+}
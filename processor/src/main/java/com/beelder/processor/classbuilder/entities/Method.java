@@ -21,6 +21,10 @@ public class Method extends Type {
      * This methods body as a list of lines.
      */
     private final List<String> content = new ArrayList<>();
+    /**
+     * Annotations of this method, e.g. "@SuppressWarnings(\"unchecked\")".
+     */
+    private final List<String> annotations = new ArrayList<>();
 
     /**
      * The return type of this method.
@@ -51,6 +55,7 @@ public class Method extends Type {
      * Creates the header for this method in the form "modifier0 modifier1 ... returnType key(Variable0, Variable1, ...)"
      */
     private void createMethodHeader(final StringBuilder sb, final int depth) {
+        annotations.forEach(a -> StringBuilderUtils.indent(sb, depth).append(a).append("\n"));
         StringBuilderUtils.indent(sb, depth);
         getModifiers().stream().map(BeelderUtils::modififerToLowercase).forEach(m -> sb.append(m).append(" "));
 
@@ -88,6 +93,20 @@ public class Method extends Type {
         this.content.add(line);
     }
 
+    /**
+     * Adds a new line to the body of this method, in front of its return statement if
+     * the body is already locked.
+     *
+     * @param line The line
+     */
+    public void addLineBeforeReturn(final String line) {
+        if(locked) {
+            this.content.add(this.content.size() - 1, line);
+        } else {
+            this.content.add(line);
+        }
+    }
+
     /**
      * Adds a return statement to this method, locks this methods body from further modification.
      *
@@ -98,6 +117,17 @@ public class Method extends Type {
         this.locked = true;
     }
 
+    /**
+     * Adds a new annotation to this method, if it is not yet contained.
+     *
+     * @param annotation The annotation (including "@")
+     */
+    public void addAnnotation(final String annotation) {
+        if(!this.annotations.contains(annotation)) {
+            this.annotations.add(annotation);
+        }
+    }
+
     /**
      * Adds a new variable to the parameters list.
      *
@@ -121,6 +151,10 @@ public class Method extends Type {
         return Collections.unmodifiableList(this.parameters);
     }
 
+    public String getReturnType() {
+        return this.returnType;
+    }
+
     public void setReturnType(String returnType) {
         this.returnType = returnType;
     }
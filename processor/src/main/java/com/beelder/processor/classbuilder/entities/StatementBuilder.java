@@ -3,6 +3,7 @@ package com.beelder.processor.classbuilder.entities;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +56,16 @@ public final class StatementBuilder {
         return new IfBlock(condition);
     }
 
+    /**
+     * Creates a new switch block over the given selector.
+     *
+     * @param selector The expression to switch on
+     * @return The switch block
+     */
+    public static SwitchBlock createSwitchBlock(final String selector) {
+        return new SwitchBlock(selector);
+    }
+
     /**
      * Creates a new try block from the given lines.
      *
@@ -68,6 +79,7 @@ public final class StatementBuilder {
     public static class TryBlock extends Type {
         private final List<String> lines = new ArrayList<>();
         private final Map<String, List<String>> catchClauses = new HashMap<>();
+        private final List<String> finallyLines = new ArrayList<>();
 
         private TryBlock(String... lines) {
             super("TRY");
@@ -105,6 +117,15 @@ public final class StatementBuilder {
             addLineToCatchClause(line, String.join(" | ", catches));
         }
 
+        /**
+         * Adds a new line to this trys finally block, ";" is possible needed.
+         *
+         * @param line The line to add
+         */
+        public void addLineToFinally(final String line) {
+            this.finallyLines.add(line);
+        }
+
         @Override
         public String build(int depth) {
             final StringBuilder tryString = new StringBuilder("try {\n");
@@ -120,6 +141,12 @@ public final class StatementBuilder {
                 }
             }
 
+            if(!this.finallyLines.isEmpty()) {
+                tryString.append(" finally {\n");
+                this.finallyLines.forEach(l -> indent(tryString, depth + 1).append(l).append('\n'));
+                indent(tryString, depth).append("}");
+            }
+
             return tryString.toString();
         }
     }
@@ -151,7 +178,7 @@ public final class StatementBuilder {
             indent(ifString, depth).append('}');
 
             if(!this.elseBody.isEmpty()) {
-                ifString.append(" else {");
+                ifString.append(" else {\n");
                 this.elseBody.forEach(l -> indent(ifString, depth + 1).append(l).append('\n'));
                 indent(ifString, depth).append('}');
             }
@@ -159,4 +186,48 @@ public final class StatementBuilder {
             return ifString.toString();
         }
     }
+
+    public static class SwitchBlock extends Type {
+        private final String selector;
+        private final Map<String, List<String>> cases = new LinkedHashMap<>();
+        private final List<String> defaultCase = new ArrayList<>();
+
+        private SwitchBlock(final String selector) {
+            super("SWITCH");
+
+            this.selector = selector;
+        }
+
+        /**
+         * Adds a new line to the case for the given label, ";" is possible needed.
+         *
+         * @param label The case label, e.g. a string literal
+         * @param line The line to add
+         */
+        public void addLineToCase(final String label, final String line) {
+            this.cases.computeIfAbsent(label, k -> new ArrayList<>()).add(line);
+        }
+
+        public void addLineToDefault(final String line) {
+            this.defaultCase.add(line);
+        }
+
+        @Override
+        public String build(int depth) {
+            final StringBuilder switchString = new StringBuilder("switch (");
+            switchString.append(this.selector).append(") {\n");
+            this.cases.forEach((label, lines) -> {
+                indent(switchString, depth + 1).append("case ").append(label).append(":\n");
+                lines.forEach(l -> indent(switchString, depth + 2).append(l).append('\n'));
+            });
+
+            if(!this.defaultCase.isEmpty()) {
+                indent(switchString, depth + 1).append("default:\n");
+                this.defaultCase.forEach(l -> indent(switchString, depth + 2).append(l).append('\n'));
+            }
+
+            indent(switchString, depth).append('}');
+            return switchString.toString();
+        }
+    }
 }
@@ -57,6 +57,15 @@ public abstract class Type {
         Arrays.stream(modifiers).filter(m -> !this.modifiers.contains(m)).forEach(this.modifiers::add);
     }
 
+    /**
+     * Removes the given modifier from this type, if contained.
+     *
+     * @param modifier Modifier to be removed
+     */
+    public final void removeModifier(final Modifier modifier) {
+        this.modifiers.remove(modifier);
+    }
+
     /**
      * @return Complex toString representation of this type
      */
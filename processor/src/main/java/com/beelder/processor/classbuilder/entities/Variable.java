@@ -2,12 +2,13 @@ package com.beelder.processor.classbuilder.entities;
 
 import com.beelder.processor.utils.BeelderUtils;
 import com.beelder.processor.utils.StringBuilderUtils;
+import com.beelder.processor.utils.TypeRenderer;
 
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
 import java.util.Objects;
 
 import static com.beelder.processor.utils.ElementUtils.getElementNameQualified;
-import static com.beelder.processor.utils.ElementUtils.getElementType;
 
 public class Variable extends Type {
     /**
@@ -18,19 +19,39 @@ public class Variable extends Type {
      * Value of this variable, might be null.
      */
     private final String value;
+    /**
+     * If set to true, the type of this variable is primitive.
+     */
+    private final boolean primitive;
+    /**
+     * Type of this variable as type mirror, null if created from its name only.
+     */
+    private final TypeMirror typeMirror;
 
     public Variable(String type, String key) {
+        this(type, key, null);
+    }
+
+    public Variable(String type, String key, String value) {
         super(key);
 
         this.type = type;
-        this.value = null;
+        this.value = value;
+        this.primitive = false;
+        this.typeMirror = null;
     }
 
-    public Variable(String type, String key, String value) {
+    public Variable(TypeMirror type, String key) {
+        this(type, key, null);
+    }
+
+    public Variable(TypeMirror type, String key, String value) {
         super(key);
 
-        this.type = type;
+        this.type = TypeRenderer.render(type);
         this.value = value;
+        this.primitive = type.getKind().isPrimitive();
+        this.typeMirror = type;
     }
 
     @Override
@@ -51,11 +72,19 @@ public class Variable extends Type {
         return this.type;
     }
 
+    public boolean isPrimitive() {
+        return this.primitive;
+    }
+
+    public TypeMirror getTypeMirror() {
+        return this.typeMirror;
+    }
+
     public static Variable from(VariableElement element) {
         if(Objects.nonNull(element.getConstantValue())) {
-            return new Variable(getElementType(element), getElementNameQualified(element), element.getConstantValue().toString());
+            return new Variable(element.asType(), getElementNameQualified(element), element.getConstantValue().toString());
         }
 
-        return new Variable(getElementType(element), getElementNameQualified(element));
+        return new Variable(element.asType(), getElementNameQualified(element));
     }
 }
@@ -3,6 +3,7 @@ package com.beelder.processor.constants;
 import com.beelder.annotations.Buildable;
 import com.beelder.annotations.buildingblock.BuildingBlock;
 
+import java.util.Map;
 import java.util.Set;
 
 public final class BeelderConstants {
@@ -10,14 +11,80 @@ public final class BeelderConstants {
         // Static class
     }
 
-    public static final Set<String> PRIMITIVE_TYPES =
-            Set.of("byte", "short", "int", "long", "char", "double", "float", "boolean");
+    /**
+     * Maps primitive type names to their wrapper classes.
+     */
+    public static final Map<String, String> PRIMITIVE_WRAPPERS = Map.of(
+            "byte", "java.lang.Byte", "short", "java.lang.Short", "int", "java.lang.Integer",
+            "long", "java.lang.Long", "char", "java.lang.Character", "double", "java.lang.Double",
+            "float", "java.lang.Float", "boolean", "java.lang.Boolean");
+
+    /**
+     * Primitive types whose values can be taken from any {@link Number}.
+     */
+    public static final Set<String> NUMERIC_TYPES = Set.of("byte", "short", "int", "long", "double", "float");
 
     /**
      * Suffix for generated builder classes.
      */
     public static final String BUILDABLE_CLASS_SUFFIX = "Builder";
 
+    /**
+     * Suffix for generated mapper classes.
+     */
+    public static final String MAPPER_CLASS_SUFFIX = "Mapper";
+
+    /**
+     * Name of the static method of generated mapper classes.
+     */
+    public static final String MAP_METHOD_NAME = "map";
+
+    /**
+     * Name of the method building an object after all pending asynchronous building blocks completed.
+     */
+    public static final String BUILD_ASYNC_METHOD_NAME = "buildAsync";
+
+    /**
+     * Name of the method copying all building blocks set in another builder.
+     */
+    public static final String MERGE_FROM_METHOD_NAME = "mergeFrom";
+
+    /**
+     * Name of the method returning the names of all set building blocks.
+     */
+    public static final String SET_FIELDS_METHOD_NAME = "setFields";
+
+    /**
+     * Prefix of the private methods applying values to the built object, in builders storing the values set elsewhere.
+     */
+    public static final String APPLY_METHOD_PREFIX = "apply";
+
+    /**
+     * Name of the method creating the object in builders generated with the sparse layout.
+     */
+    public static final String NEW_OBJECT_METHOD_NAME = "newObject";
+
+    /**
+     * Name of the method looking up the canonical instance for a built object.
+     */
+    public static final String CANONICALIZE_METHOD_NAME = "canonicalize";
+
+    /**
+     * Name of the registry class generated into each package containing builders.
+     */
+    public static final String REGISTRY_CLASS_NAME = "BeelderRegistry";
+
+    /**
+     * Processor option replacing the name of the registry classes, which has to differ between
+     * compilations generating into the same packages, e.g. for main and test sources.
+     */
+    public static final String REGISTRY_NAME_OPTION = "beelder.registryName";
+
+    /**
+     * Name of the registry method looking up the builder supplier for a class.
+     */
+    public static final String REGISTRY_LOOKUP_METHOD_NAME = "supplierFor";
+
     /**
      * Name of the object to be built.
      */
@@ -33,6 +100,26 @@ public final class BeelderConstants {
      */
     public static final String BUILD_METHOD_NAME = "build";
 
+    /**
+     * Name of the generic setter, dispatching to the setter of a building block by its name.
+     */
+    public static final String GENERIC_SETTER_METHOD_NAME = "set";
+
+    /**
+     * Name of the method setting all building blocks contained in a map.
+     */
+    public static final String SET_ALL_METHOD_NAME = "setAll";
+
+    /**
+     * Name of the static factory creating a builder from a map.
+     */
+    public static final String FROM_MAP_METHOD_NAME = "fromMap";
+
+    /**
+     * Name of the static factories creating a builder from a delimited text record.
+     */
+    public static final String FROM_DELIMITED_METHOD_NAME = "fromDelimited";
+
     /**
      * Helper string for generic processing environment messages.
      */
@@ -0,0 +1,134 @@
+package com.beelder.processor.generator;
+
+import com.beelder.annotations.Buildable;
+import com.beelder.processor.classbuilder.entities.Block;
+import com.beelder.processor.classbuilder.entities.Clazz;
+import com.beelder.processor.classbuilder.entities.Method;
+import com.beelder.processor.classbuilder.entities.StatementBuilder;
+import com.beelder.processor.classbuilder.entities.Variable;
+import com.beelder.processor.constants.BeelderConstants;
+import com.beelder.processor.utils.BeelderUtils;
+import com.beelder.runtime.Async;
+import com.beelder.runtime.NullPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+
+/**
+ * Generates asynchronous setters for classes with {@link Buildable#asyncBlocks()} set, storing
+ * pending values in fields of the builder, as well as a build method waiting for all of them
+ * in parallel.
+ */
+public final class AsyncBlockGenerator implements IClazzGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncBlockGenerator.class);
+
+    private static final String FUTURE_TYPE = "java.util.concurrent.CompletableFuture";
+    private static final String PENDING_SUFFIX = "Pending";
+    private static final String ASYNC_SUFFIX = "Async";
+    private static final String APPLY_PENDING_METHOD_NAME = "applyPendingBlocks";
+
+    @Override
+    public boolean canGenerate(final Clazz clazz) {
+        return Objects.nonNull(clazz.getSourceElement())
+                && Objects.nonNull(clazz.getVariableFor(BeelderConstants.BUILDABLE_OBJECT_NAME))
+                && clazz.getBuildingBlocks().stream().anyMatch(Block::isSingleValued)
+                && BeelderUtils.fetchAnnotationForEnclosing(Buildable.class, clazz.getSourceElement()).asyncBlocks();
+    }
+
+    @Override
+    public void generate(final Clazz clazz, final ProcessingEnvironment processingEnvironment) {
+        LOG.debug("Generating asynchronous building blocks for builder {}...", clazz.getKey());
+        clazz.getBuildingBlocks().stream().filter(Block::isSingleValued).forEach(block -> {
+            final String valueType = block.isPrimitive() ? BeelderConstants.PRIMITIVE_WRAPPERS.get(block.getValueType()) : block.getValueType();
+            clazz.addVariable(String.format("%s<? extends %s>", FUTURE_TYPE, valueType), pendingNameFor(block), null, PRIVATE);
+            addFutureSetter(clazz, block, valueType);
+            addSupplierSetter(clazz, block, valueType);
+        });
+
+        addApplyPendingMethod(clazz, processingEnvironment);
+        addBuildAsyncMethod(clazz);
+    }
+
+    private static String pendingNameFor(final Block block) {
+        return block.getName() + PENDING_SUFFIX;
+    }
+
+    private static String asyncSetterNameFor(final Block block) {
+        return block.getSetter().getKey() + ASYNC_SUFFIX;
+    }
+
+    private void addFutureSetter(final Clazz clazz, final Block block, final String valueType) {
+        final Method method = clazz.fetchMethod(asyncSetterNameFor(block));
+        method.addModifier(PUBLIC);
+        method.setReturnType(clazz.getKey());
+        method.addParameter(new Variable(String.format("%s<? extends %s>", FUTURE_TYPE, valueType), "future"));
+        method.addLine(String.format("this.%s = java.util.Objects.requireNonNull(future);", pendingNameFor(block)));
+        method.addReturnStatement("this");
+    }
+
+    /**
+     * Adds the overload running the given supplier on the given executor, e.g. one starting
+     * virtual threads.
+     */
+    private void addSupplierSetter(final Clazz clazz, final Block block, final String valueType) {
+        final Method method = new Method(asyncSetterNameFor(block));
+        method.addModifier(PUBLIC);
+        method.setReturnType(clazz.getKey());
+        method.addParameter(new Variable(String.format("java.util.function.Supplier<? extends %s>", valueType), "supplier"));
+        method.addParameter(new Variable("java.util.concurrent.Executor", "executor"));
+        method.addReturnStatement(String.format("%s(%s.supplyAsync(supplier, executor))", asyncSetterNameFor(block), FUTURE_TYPE));
+        clazz.addOverload(method);
+    }
+
+    /**
+     * Adds the method setting the values of all completed pending blocks via their setters. Null
+     * values of primitive blocks cannot be unboxed and are rejected.
+     */
+    private void addApplyPendingMethod(final Clazz clazz, final ProcessingEnvironment procEnv) {
+        final Method method = clazz.fetchMethod(APPLY_PENDING_METHOD_NAME);
+        method.addModifier(PRIVATE);
+        method.setReturnType(clazz.getKey());
+        clazz.getBuildingBlocks().stream().filter(Block::isSingleValued).forEach(block -> {
+            final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(String.format("this.%s != null", pendingNameFor(block)));
+            if(block.isPrimitive()) {
+                final String value = block.getName() + "Value";
+                ifBlock.addLine(String.format("final %s %s = this.%s.join();", BeelderConstants.PRIMITIVE_WRAPPERS.get(block.getValueType()),
+                        value, pendingNameFor(block)));
+                ifBlock.addLine(String.format("this.%s = null;", pendingNameFor(block)));
+                final StatementBuilder.IfBlock ifNull = StatementBuilder.createIfBlock(value + " == null");
+                ifNull.addLine(String.format("%s.reject(this, %s.THROW_EXC, %s);", NullPolicy.class.getName(), NullPolicy.class.getName(),
+                        procEnv.getElementUtils().getConstantExpression("Pending value of building block " + block.getName() + " is null")));
+                ifNull.addLineToElse(String.format("%s(%s);", block.getSetter().getKey(), value));
+                ifBlock.addLine(ifNull.build(3));
+            } else {
+                ifBlock.addLine(String.format("%s(this.%s.join());", block.getSetter().getKey(), pendingNameFor(block)));
+                ifBlock.addLine(String.format("this.%s = null;", pendingNameFor(block)));
+            }
+            method.addLine(ifBlock.build(2));
+        });
+        method.addReturnStatement("this");
+    }
+
+    /**
+     * Adds the method waiting for all pending blocks in parallel, then calling the build method,
+     * so the latency is the one of the slowest pending block.
+     */
+    private void addBuildAsyncMethod(final Clazz clazz) {
+        final String pending = clazz.getBuildingBlocks().stream()
+                .filter(Block::isSingleValued)
+                .map(block -> "this." + pendingNameFor(block))
+                .collect(Collectors.joining(", "));
+
+        final Method method = clazz.fetchMethod(BeelderConstants.BUILD_ASYNC_METHOD_NAME);
+        method.addModifier(PUBLIC);
+        method.setReturnType(String.format("%s<%s>", FUTURE_TYPE, clazz.getVariableFor(BeelderConstants.BUILDABLE_OBJECT_NAME).getType()));
+        method.addReturnStatement(String.format("%s.allOf(%s).thenApply(done -> %s().%s())",
+                Async.class.getName(), pending, APPLY_PENDING_METHOD_NAME, BeelderConstants.BUILD_METHOD_NAME));
+    }
+}
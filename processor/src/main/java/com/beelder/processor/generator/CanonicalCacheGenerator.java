@@ -0,0 +1,140 @@
+package com.beelder.processor.generator;
+
+import com.beelder.annotations.Buildable;
+import com.beelder.processor.classbuilder.entities.Block;
+import com.beelder.processor.classbuilder.entities.Clazz;
+import com.beelder.processor.classbuilder.entities.Method;
+import com.beelder.processor.classbuilder.entities.StatementBuilder;
+import com.beelder.processor.constants.BeelderConstants;
+import com.beelder.processor.utils.BeelderUtils;
+import com.beelder.runtime.CanonicalCache;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.util.Objects;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Generates a canonicalizing build method for classes with {@link Buildable#canonical()} set. Built
+ * objects are looked up in a {@link CanonicalCache} shared by all builders of the class. The
+ * builder cannot be used after building, its setters throw an {@link IllegalStateException}.
+ */
+public final class CanonicalCacheGenerator implements IClazzGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(CanonicalCacheGenerator.class);
+
+    private static final String CACHE_NAME = "CANONICAL_CACHE";
+    private static final String[] COUNTERS = {"hits", "misses", "evictions"};
+    private static final String ENSURE_NOT_BUILT_NAME = "ensureNotBuilt";
+
+    @Override
+    public boolean canGenerate(final Clazz clazz) {
+        return Objects.nonNull(clazz.getSourceElement())
+                && Objects.nonNull(clazz.getVariableFor(BeelderConstants.BUILDABLE_OBJECT_NAME))
+                && BeelderUtils.fetchAnnotationForEnclosing(Buildable.class, clazz.getSourceElement()).canonical();
+    }
+
+    @Override
+    public void generate(final Clazz clazz, final ProcessingEnvironment processingEnvironment) {
+        final int cacheSize = BeelderUtils.fetchAnnotationForEnclosing(Buildable.class, clazz.getSourceElement()).canonicalCacheSize();
+        if(!checkClass(clazz, cacheSize, processingEnvironment)) {
+            return;
+        }
+
+        LOG.debug("Generating canonical instance cache for builder {}...", clazz.getKey());
+        final String type = clazz.getVariableFor(BeelderConstants.BUILDABLE_OBJECT_NAME).getType();
+        clazz.addVariable(String.format("%s<%s>", CanonicalCache.class.getName(), type), CACHE_NAME,
+                String.format("new %s<>(%d)", CanonicalCache.class.getName(), cacheSize), PRIVATE, STATIC, FINAL);
+        for(final String counter:COUNTERS) {
+            addCounter(clazz, counter);
+        }
+
+        addEnsureNotBuilt(clazz);
+        clazz.getBuildingBlocks().stream()
+                .map(Block::getSetter)
+                .distinct()
+                .forEach(setter -> setter.prependLine(ENSURE_NOT_BUILT_NAME + "();"));
+        addBuildMethod(clazz, type);
+    }
+
+    /**
+     * Checks if the cache size is a power of two and the built class overrides equals and hashCode,
+     * throws compiler errors otherwise.
+     */
+    private boolean checkClass(final Clazz clazz, final int cacheSize, final ProcessingEnvironment procEnv) {
+        final Element source = clazz.getSourceElement();
+        boolean valid = true;
+        if(cacheSize <= 0 || Integer.bitCount(cacheSize) != 1) {
+            LOG.error("Canonical cache size of builder {} is not a power of two!", clazz.getKey());
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, Buildable.SIMPLE_NAME,
+                    "but the canonical cache size is not a power of two", source);
+            valid = false;
+        }
+
+        if(!overridesObjectMethod(source, "equals", procEnv) || !overridesObjectMethod(source, "hashCode", procEnv)) {
+            LOG.error("Class {} does not override equals and hashCode, cannot canonicalize!", source);
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, Buildable.SIMPLE_NAME,
+                    "but does not override equals and hashCode required for canonical instances", source);
+            valid = false;
+        }
+
+        return valid;
+    }
+
+    private boolean overridesObjectMethod(final Element clazz, final String name, final ProcessingEnvironment procEnv) {
+        final TypeElement object = procEnv.getElementUtils().getTypeElement(Object.class.getName());
+        final ExecutableElement objectMethod = object.getEnclosedElements().stream()
+                .filter(e -> ElementKind.METHOD.equals(e.getKind()) && e.getSimpleName().contentEquals(name))
+                .map(ExecutableElement.class::cast)
+                .findFirst().orElseThrow();
+
+        return procEnv.getElementUtils().getAllMembers((TypeElement) clazz).stream()
+                .filter(e -> ElementKind.METHOD.equals(e.getKind()) && e.getSimpleName().contentEquals(name))
+                .filter(e -> !object.equals(e.getEnclosingElement()))
+                .anyMatch(e -> procEnv.getElementUtils().overrides((ExecutableElement) e, objectMethod, (TypeElement) clazz));
+    }
+
+    private void addCounter(final Clazz clazz, final String counter) {
+        final Method getter = clazz.fetchMethod("canonical" + StringUtils.capitalize(counter));
+        getter.addModifiers(PUBLIC, STATIC);
+        getter.setReturnType("long");
+        getter.addReturnStatement(String.format("%s.%s()", CACHE_NAME, counter));
+    }
+
+    /**
+     * Adds the method throwing if the object has already been built and detached from the builder.
+     */
+    private void addEnsureNotBuilt(final Clazz clazz) {
+        final Method method = clazz.fetchMethod(ENSURE_NOT_BUILT_NAME);
+        method.addModifier(PRIVATE);
+        method.setReturnType("void");
+        final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(
+                String.format("java.util.Objects.isNull(this.%s)", BeelderConstants.BUILDABLE_OBJECT_NAME));
+        ifBlock.addLine("throw new IllegalStateException(\"Builder has already been built\");");
+        method.addLine(ifBlock.build(2));
+    }
+
+    /**
+     * Detaches the built object from this builder, as it might be shared from now on, and returns
+     * its canonical instance. The build method is locked afterwards.
+     */
+    private void addBuildMethod(final Clazz clazz, final String type) {
+        final Method method = clazz.fetchMethod(BeelderConstants.BUILD_METHOD_NAME);
+        method.addModifier(PUBLIC);
+        method.setReturnType(type);
+        method.prependLine(ENSURE_NOT_BUILT_NAME + "();");
+        method.addLine(String.format("final %s built = this.%s;", type, BeelderConstants.BUILDABLE_OBJECT_NAME));
+        method.addLine(String.format("this.%s = null;", BeelderConstants.BUILDABLE_OBJECT_NAME));
+        method.addReturnStatement(String.format("%s.%s(built)", CACHE_NAME, BeelderConstants.CANONICALIZE_METHOD_NAME));
+    }
+}
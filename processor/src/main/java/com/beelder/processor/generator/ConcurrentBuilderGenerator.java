@@ -0,0 +1,308 @@
+package com.beelder.processor.generator;
+
+import com.beelder.annotations.Buildable;
+import com.beelder.processor.classbuilder.entities.Block;
+import com.beelder.processor.classbuilder.entities.Clazz;
+import com.beelder.processor.classbuilder.entities.Method;
+import com.beelder.processor.classbuilder.entities.StatementBuilder;
+import com.beelder.processor.classbuilder.entities.Variable;
+import com.beelder.processor.constants.BeelderConstants;
+import com.beelder.processor.utils.BeelderUtils;
+import com.beelder.processor.utils.TypeRenderer;
+import com.beelder.runtime.Concurrent;
+import com.beelder.runtime.NullPolicy;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.tools.Diagnostic;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.lang.model.element.Modifier.SYNCHRONIZED;
+
+/**
+ * Generates lock-free builders for classes with {@link Buildable#concurrent()} set. The setters
+ * generated by the handlers are renamed to private "applyX" methods. The new public setters write
+ * into slots with release semantics, or accumulate into adders and concurrent queues, and mark
+ * their block in the set blocks mask atomically. Each setter counts its write as started before
+ * and as finished after it. The build method takes a consistent snapshot of the mask and all values,
+ * retrying while setters are writing, creates a new object and applies the snapshot, as well as
+ * the default values of unset blocks. It is synchronized, as the applying methods write to the
+ * object field of the builder, setters never wait for it.
+ */
+public final class ConcurrentBuilderGenerator implements IClazzGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrentBuilderGenerator.class);
+
+    private static final String SLOT_SUFFIX = "Slot";
+    private static final String ADDER_SUFFIX = "Adder";
+    private static final String QUEUE_SUFFIX = "Queue";
+    private static final String VALUE_SUFFIX = "Value";
+    private static final String WRITES_STARTED = "writesStarted";
+    private static final String WRITES_FINISHED = "writesFinished";
+    private static final String VAR_HANDLE_TYPE = "java.lang.invoke.VarHandle";
+    private static final String QUEUE_TYPE = "java.util.concurrent.ConcurrentLinkedQueue";
+
+    /**
+     * Maps numeric primitives to the adders accumulating them.
+     */
+    private static final Map<String, String> ADDERS = Map.of(
+            "byte", "java.util.concurrent.atomic.LongAdder", "short", "java.util.concurrent.atomic.LongAdder",
+            "int", "java.util.concurrent.atomic.LongAdder", "long", "java.util.concurrent.atomic.LongAdder",
+            "float", "java.util.concurrent.atomic.DoubleAdder", "double", "java.util.concurrent.atomic.DoubleAdder");
+
+    /**
+     * Maps integral primitives narrowed from the sum of their adder to their wrappers, holding their range.
+     */
+    private static final Map<String, String> INTEGRAL_WRAPPERS = Map.of(
+            "byte", "java.lang.Byte", "short", "java.lang.Short", "int", "java.lang.Integer");
+
+    /**
+     * Maps collection types accumulating blocks may be declared as to the collections built from them.
+     */
+    private static final Map<String, String> COLLECTIONS = Map.of(
+            "java.util.Collection", "java.util.ArrayList", "java.util.List", "java.util.ArrayList",
+            "java.util.Set", "java.util.LinkedHashSet");
+
+    @Override
+    public boolean canGenerate(final Clazz clazz) {
+        return Objects.nonNull(clazz.getSourceElement())
+                && Objects.nonNull(clazz.getVariableFor(BeelderConstants.BUILDABLE_OBJECT_NAME))
+                && clazz.containsMethod(BeelderConstants.NEW_OBJECT_METHOD_NAME)
+                && BeelderUtils.isConcurrent(clazz.getSourceElement());
+    }
+
+    @Override
+    public void generate(final Clazz clazz, final ProcessingEnvironment processingEnvironment) {
+        if(!checkClass(clazz, processingEnvironment)) {
+            return;
+        }
+
+        LOG.debug("Generating concurrent setters for builder {}...", clazz.getKey());
+        final List<String> counters = List.of(WRITES_STARTED, WRITES_FINISHED);
+        Stream.concat(SetBlocksMask.fieldsOf(clazz).stream(), counters.stream()).forEach(field -> {
+            clazz.addVariable("long", field, null, PRIVATE);
+            addVarHandle(clazz, field, "long");
+        });
+
+        final Method build = clazz.fetchMethod(BeelderConstants.BUILD_METHOD_NAME);
+        build.addModifiers(PUBLIC, SYNCHRONIZED);
+        SetBlocksMask.fieldsOf(clazz).forEach(field -> build.addLine(String.format("long %s;", field)));
+
+        final List<String> snapshot = new ArrayList<>();
+        SetBlocksMask.fieldsOf(clazz).forEach(field -> snapshot.add(String.format("%s = (long) %s.getAcquire(this);",
+                field, BeelderUtils.toConstantName(field))));
+        final List<String> applies = new ArrayList<>();
+        clazz.getBuildingBlocks().forEach(block -> {
+            final String setterName = block.getSetter().getKey();
+            final String applyName = BeelderConstants.APPLY_METHOD_PREFIX + StringUtils.capitalize(block.getName());
+            clazz.renameMethod(setterName, applyName);
+            block.getSetter().removeModifier(PUBLIC);
+            block.getSetter().addModifier(PRIVATE);
+
+            final String local = block.getName() + VALUE_SUFFIX;
+            final String read = addConcurrentSetter(clazz, block, setterName, processingEnvironment);
+            build.addLine(String.format("%s %s;", snapshotTypeOf(block), local));
+            snapshot.add(String.format("%s = %s;", local, read));
+
+            final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(SetBlocksMask.isSetInSnapshot(block));
+            ifBlock.addLine(isNarrowed(block) ? applyNarrowed(block, applyName, local, processingEnvironment) : String.format("%s(%s);", applyName, local));
+            if(Objects.nonNull(block.getDefaultProvider())) {
+                ifBlock.addLineToElse(String.format("%s(%s);", applyName, block.getDefaultProvider()));
+            }
+            applies.add(ifBlock.build(2));
+        });
+
+        addSnapshotLoop(build, snapshot);
+        build.addLine(String.format("this.%s = %s();", BeelderConstants.BUILDABLE_OBJECT_NAME, BeelderConstants.NEW_OBJECT_METHOD_NAME));
+        applies.forEach(build::addLine);
+    }
+
+    /**
+     * Adds the loop taking the snapshot to the build method. It waits until no setter is writing, reads all
+     * values and retries if a setter started writing meanwhile, so the snapshot holds the values of all setters
+     * finished before it, but none of the setters running concurrently.
+     */
+    private static void addSnapshotLoop(final Method build, final List<String> snapshot) {
+        final StatementBuilder.IfBlock writing = StatementBuilder.createIfBlock("started != finished");
+        writing.addLine("java.lang.Thread.onSpinWait();");
+        writing.addLine("continue;");
+        final StatementBuilder.IfBlock unchanged = StatementBuilder.createIfBlock(String.format(
+                "(long) %s.getVolatile(this) == started", BeelderUtils.toConstantName(WRITES_STARTED)));
+        unchanged.addLine("break;");
+
+        build.addLine("for (;;) {");
+        build.addLine(String.format("\tfinal long finished = (long) %s.getVolatile(this);", BeelderUtils.toConstantName(WRITES_FINISHED)));
+        build.addLine(String.format("\tfinal long started = (long) %s.getVolatile(this);", BeelderUtils.toConstantName(WRITES_STARTED)));
+        build.addLine("\t" + writing.build(3));
+        snapshot.forEach(line -> build.addLine("\t" + line));
+        build.addLine("\t" + VAR_HANDLE_TYPE + ".acquireFence();");
+        build.addLine("\t" + unchanged.build(3));
+        build.addLine("}");
+    }
+
+    /**
+     * Checks if the options of the class can be combined with concurrent mode, all blocks are single valued
+     * and accumulating blocks are of a supported type, throws compiler errors otherwise.
+     */
+    private boolean checkClass(final Clazz clazz, final ProcessingEnvironment procEnv) {
+        final Buildable buildable = BeelderUtils.fetchAnnotationForEnclosing(Buildable.class, clazz.getSourceElement());
+        if(buildable.canonical() || buildable.mergeable() || buildable.asyncBlocks()) {
+            LOG.error("Builder {} is concurrent, but also canonical, mergeable or has async blocks!", clazz.getKey());
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, Buildable.SIMPLE_NAME,
+                    "but concurrent builders cannot be canonical, mergeable or have async blocks", clazz.getSourceElement());
+            return false;
+        }
+
+        boolean valid = true;
+        for(final Block block:clazz.getBuildingBlocks()) {
+            final boolean supported = block.isSingleValued() && Objects.nonNull(typeOf(block))
+                    && (!block.isAccumulating() || ADDERS.containsKey(block.getValueType()) || isCollection(block, procEnv));
+            if(!supported) {
+                LOG.error("Building block {} of concurrent builder {} is not supported!", block.getName(), clazz.getKey());
+                BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, Buildable.SIMPLE_NAME, "but building block "
+                        + block.getName() + " takes several values or accumulates a type other than a numeric primitive, Collection, List or Set",
+                        clazz.getSourceElement());
+                valid = false;
+            }
+        }
+
+        return valid;
+    }
+
+    /**
+     * Adds the public setter for the given block, marking it as set after storing the value.
+     *
+     * @return Expression reading the stored value in the build method
+     */
+    private String addConcurrentSetter(final Clazz clazz, final Block block, final String setterName, final ProcessingEnvironment procEnv) {
+        final Method method = clazz.fetchMethod(setterName);
+        method.addModifier(PUBLIC);
+        method.setReturnType(clazz.getKey());
+        method.addParameter(new Variable(typeOf(block), BeelderConstants.SETTER_METHOD_PARAM_NAME));
+
+        final StatementBuilder.TryBlock write = StatementBuilder.createTryBlock();
+        final String value;
+        if(block.isAccumulating() && block.isPrimitive()) {
+            final String adder = block.getName() + ADDER_SUFFIX;
+            final String adderType = ADDERS.get(block.getValueType());
+            clazz.addVariable(adderType, adder, String.format("new %s()", adderType), PRIVATE, FINAL);
+            write.addLine(String.format("this.%s.add(%s);", adder, BeelderConstants.SETTER_METHOD_PARAM_NAME));
+            value = String.format("this.%s.sum()", adder);
+        } else if(block.isAccumulating()) {
+            final String queue = block.getName() + QUEUE_SUFFIX;
+            final String queueType = String.format("%s<%s>", QUEUE_TYPE, elementTypeOf(block));
+            clazz.addVariable(queueType, queue, String.format("new %s<>()", QUEUE_TYPE), PRIVATE, FINAL);
+            final StatementBuilder.IfBlock ifNull = StatementBuilder.createIfBlock(BeelderConstants.SETTER_METHOD_PARAM_NAME + " == null");
+            ifNull.addLine(String.format("return %s.reject(this, %s.THROW_EXC, %s);", NullPolicy.class.getName(), NullPolicy.class.getName(),
+                    procEnv.getElementUtils().getConstantExpression("Cannot accumulate null into building block " + block.getName())));
+            method.addLine(ifNull.build(2));
+            write.addLine(String.format("this.%s.addAll(%s);", queue, BeelderConstants.SETTER_METHOD_PARAM_NAME));
+            value = String.format("new %s<>(this.%s)", COLLECTIONS.get(erasureOf(block, procEnv)), queue);
+        } else {
+            final String slot = block.getName() + SLOT_SUFFIX;
+            clazz.addVariable(block.getValueType(), slot, null, PRIVATE);
+            addVarHandle(clazz, slot, erasureOf(block, procEnv));
+            write.addLine(String.format("%s.setRelease(this, %s);", BeelderUtils.toConstantName(slot), BeelderConstants.SETTER_METHOD_PARAM_NAME));
+            value = String.format("(%s) %s.getAcquire(this)", block.getValueType(), BeelderUtils.toConstantName(slot));
+        }
+
+        write.addLine(String.format("%s.getAndBitwiseOrRelease(this, %s);",
+                BeelderUtils.toConstantName(SetBlocksMask.fieldFor(block)), SetBlocksMask.bitFor(block)));
+        write.addLineToFinally(String.format("%s.getAndAddRelease(this, 1L);", BeelderUtils.toConstantName(WRITES_FINISHED)));
+        method.addLine(String.format("%s.getAndAdd(this, 1L);", BeelderUtils.toConstantName(WRITES_STARTED)));
+        method.addLine(write.build(2));
+        method.addReturnStatement("this");
+        return value;
+    }
+
+    /**
+     * Adds the static var handle for the given field of the builder, looked up by the builder itself.
+     */
+    private void addVarHandle(final Clazz clazz, final String field, final String erasedType) {
+        clazz.addVariable(VAR_HANDLE_TYPE, BeelderUtils.toConstantName(field), String.format(
+                "%s.findVarHandle(java.lang.invoke.MethodHandles.lookup(), \"%s\", %s.class)", Concurrent.class.getName(), field, erasedType),
+                PRIVATE, STATIC, FINAL);
+    }
+
+    /**
+     * @return Statement applying the sum of the given accumulating block narrowed to the type of the block. Sums
+     * exceeding the range of integral types are rejected instead of wrapping around
+     */
+    private static String applyNarrowed(final Block block, final String applyName, final String local, final ProcessingEnvironment procEnv) {
+        final String apply = String.format("%s((%s) %s);", applyName, block.getValueType(), local);
+        final String wrapper = INTEGRAL_WRAPPERS.get(block.getValueType());
+        if(Objects.isNull(wrapper)) {
+            return apply;
+        }
+
+        final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(String.format("%s < %s.MIN_VALUE || %s > %s.MAX_VALUE",
+                local, wrapper, local, wrapper));
+        ifBlock.addLine(String.format("%s.reject(this, %s.THROW_EXC, %s);", NullPolicy.class.getName(), NullPolicy.class.getName(),
+                procEnv.getElementUtils().getConstantExpression("Sum of building block " + block.getName() + " exceeds the range of " + block.getValueType())));
+        ifBlock.addLineToElse(apply);
+        return ifBlock.build(3);
+    }
+
+    /**
+     * @return The type of the local variable holding the value of the given block in the snapshot, sums of
+     * accumulating numeric blocks are held as long or double
+     */
+    private static String snapshotTypeOf(final Block block) {
+        if(!block.isAccumulating() || !block.isPrimitive()) {
+            return block.getValueType();
+        }
+
+        return ADDERS.get(block.getValueType()).endsWith("LongAdder") ? "long" : "double";
+    }
+
+    /**
+     * @return True if the value of the given block is held in a wider type in the snapshot, false otherwise
+     */
+    private static boolean isNarrowed(final Block block) {
+        return !snapshotTypeOf(block).equals(block.getValueType());
+    }
+
+    private static TypeMirror typeOf(final Block block) {
+        return block.getSetter().getParameters().get(0).getTypeMirror();
+    }
+
+    private static String erasureOf(final Block block, final ProcessingEnvironment procEnv) {
+        return TypeRenderer.render(procEnv.getTypeUtils().erasure(typeOf(block)));
+    }
+
+    private static boolean isCollection(final Block block, final ProcessingEnvironment procEnv) {
+        return TypeKind.DECLARED.equals(typeOf(block).getKind()) && COLLECTIONS.containsKey(erasureOf(block, procEnv));
+    }
+
+    /**
+     * @return The element type of the collection accepted by the given block, upper bounds of wildcards
+     * are used, raw collections hold objects
+     */
+    private static String elementTypeOf(final Block block) {
+        final DeclaredType type = (DeclaredType) typeOf(block);
+        if(type.getTypeArguments().isEmpty()) {
+            return "java.lang.Object";
+        }
+
+        final TypeMirror element = type.getTypeArguments().get(0);
+        if(TypeKind.WILDCARD.equals(element.getKind())) {
+            final TypeMirror bound = ((WildcardType) element).getExtendsBound();
+            return Objects.isNull(bound) ? "java.lang.Object" : TypeRenderer.render(bound);
+        }
+
+        return TypeRenderer.render(element);
+    }
+}
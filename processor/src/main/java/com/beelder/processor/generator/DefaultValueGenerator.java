@@ -0,0 +1,51 @@
+package com.beelder.processor.generator;
+
+import com.beelder.processor.classbuilder.entities.Block;
+import com.beelder.processor.classbuilder.entities.Clazz;
+import com.beelder.processor.classbuilder.entities.Method;
+import com.beelder.processor.classbuilder.entities.StatementBuilder;
+import com.beelder.processor.constants.BeelderConstants;
+import com.beelder.processor.utils.BeelderUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import java.util.Objects;
+
+/**
+ * Generates the lazy default values of building blocks with a default provider. Setters of
+ * such blocks mark them as set, the build method calls the provider for unset blocks only.
+ */
+public final class DefaultValueGenerator implements IClazzGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultValueGenerator.class);
+
+    /**
+     * Builders in concurrent mode or with the sparse layout apply default values in their own build method.
+     */
+    @Override
+    public boolean canGenerate(final Clazz clazz) {
+        return Objects.nonNull(clazz.getVariableFor(BeelderConstants.BUILDABLE_OBJECT_NAME))
+                && clazz.getBuildingBlocks().stream().anyMatch(DefaultValueGenerator::hasDefault)
+                && (Objects.isNull(clazz.getSourceElement()) || (!BeelderUtils.isConcurrent(clazz.getSourceElement())
+                && !BeelderUtils.isSparse(clazz.getSourceElement())));
+    }
+
+    @Override
+    public void generate(final Clazz clazz, final ProcessingEnvironment processingEnvironment) {
+        LOG.debug("Generating lazy default values for builder {}...", clazz.getKey());
+        SetBlocksMask.addMaskFields(clazz);
+
+        final Method build = clazz.fetchMethod(BeelderConstants.BUILD_METHOD_NAME);
+        clazz.getBuildingBlocks().stream().filter(DefaultValueGenerator::hasDefault).forEach(block -> {
+            SetBlocksMask.markInSetter(block);
+
+            final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(SetBlocksMask.isNotSet("this", block));
+            ifBlock.addLine(String.format("%s(%s);", block.getSetter().getKey(), block.getDefaultProvider()));
+            build.addLine(ifBlock.build(2));
+        });
+    }
+
+    private static boolean hasDefault(final Block block) {
+        return Objects.nonNull(block.getDefaultProvider());
+    }
+}
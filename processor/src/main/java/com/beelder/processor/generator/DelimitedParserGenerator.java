@@ -0,0 +1,161 @@
+package com.beelder.processor.generator;
+
+import com.beelder.annotations.Buildable;
+import com.beelder.processor.classbuilder.entities.Block;
+import com.beelder.processor.classbuilder.entities.Clazz;
+import com.beelder.processor.classbuilder.entities.Method;
+import com.beelder.processor.classbuilder.entities.Variable;
+import com.beelder.processor.constants.BeelderConstants;
+import com.beelder.processor.utils.BeelderUtils;
+import com.beelder.runtime.Delimited;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.Diagnostic;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.util.Map.entry;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Generates static factories parsing a delimited text record into a new builder, with the
+ * column order given by {@link Buildable#delimitedColumns()}. Each column is parsed in place
+ * from the record via {@link Delimited}, without splitting it into strings first.
+ */
+public final class DelimitedParserGenerator implements IClazzGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(DelimitedParserGenerator.class);
+
+    private static final String LINE_PARAM = "line";
+    private static final String SEPARATOR_PARAM = "sep";
+    private static final String DELIMITED = Delimited.class.getName();
+
+    /**
+     * Maps supported types to the expression parsing a column from "line" between
+     * "begin" and "end".
+     */
+    private static final Map<String, String> PARSE_EXPRESSIONS = Map.ofEntries(
+            entry("int", "java.lang.Integer.parseInt(line, begin, end, 10)"),
+            entry("long", "java.lang.Long.parseLong(line, begin, end, 10)"),
+            entry("short", "(short) " + DELIMITED + ".parseIntInRange(line, begin, end, java.lang.Short.MIN_VALUE, java.lang.Short.MAX_VALUE)"),
+            entry("byte", "(byte) " + DELIMITED + ".parseIntInRange(line, begin, end, java.lang.Byte.MIN_VALUE, java.lang.Byte.MAX_VALUE)"),
+            entry("double", DELIMITED + ".parseDouble(line, begin, end)"),
+            entry("float", DELIMITED + ".parseFloat(line, begin, end)"),
+            entry("char", DELIMITED + ".parseChar(line, begin, end)"),
+            entry("boolean", DELIMITED + ".parseBoolean(line, begin, end)"),
+            entry("java.lang.String", "line.subSequence(begin, end).toString()"),
+            entry("java.lang.CharSequence", "line.subSequence(begin, end).toString()"));
+
+    @Override
+    public boolean canGenerate(final Clazz clazz) {
+        return Objects.nonNull(clazz.getSourceElement())
+                && BeelderUtils.fetchAnnotationForEnclosing(Buildable.class, clazz.getSourceElement()).delimitedColumns().length > 0;
+    }
+
+    @Override
+    public void generate(final Clazz clazz, final ProcessingEnvironment processingEnvironment) {
+        final String[] columns = BeelderUtils.fetchAnnotationForEnclosing(Buildable.class, clazz.getSourceElement()).delimitedColumns();
+        if(!checkColumns(clazz, columns, processingEnvironment)) {
+            return;
+        }
+
+        LOG.debug("Generating delimited record parser for builder {}...", clazz.getKey());
+        addParseMethod(clazz, columns);
+        addBufferOverload(clazz);
+    }
+
+    /**
+     * Checks if the builder can be instantiated without arguments and all columns name existing
+     * building blocks of a supported type, throws compiler errors otherwise.
+     */
+    private boolean checkColumns(final Clazz clazz, final String[] columns, final ProcessingEnvironment procEnv) {
+        boolean valid = true;
+        if(!clazz.hasDefaultConstructor()) {
+            LOG.error("Builder {} has no default constructor, cannot generate delimited parser!", clazz.getKey());
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, Buildable.SIMPLE_NAME,
+                    "declares delimited columns, but contains no accessible constructor without parameters", clazz.getSourceElement());
+            valid = false;
+        }
+
+        for(final String column:columns) {
+            if(column.isEmpty()) {
+                continue;
+            }
+
+            final Block block = clazz.getBuildingBlock(column);
+            if(Objects.isNull(block) || !block.isSingleValued() || Objects.isNull(parseExpressionFor(block.getValueType()))) {
+                LOG.error("Column {} of builder {} is not a building block of a supported type!", column, clazz.getKey());
+                BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, Buildable.SIMPLE_NAME,
+                        "but delimited column " + column + " is no building block of a primitive, boxed or string type", clazz.getSourceElement());
+                valid = false;
+            }
+        }
+
+        return valid;
+    }
+
+    /**
+     * @return Expression parsing a column of the given type, empty columns of boxed types yield null
+     */
+    private String parseExpressionFor(final String type) {
+        final String primitive = BeelderConstants.PRIMITIVE_WRAPPERS.entrySet().stream()
+                .filter(e -> e.getValue().equals(type))
+                .map(Map.Entry::getKey)
+                .findFirst().orElse(null);
+        if(Objects.isNull(primitive)) {
+            return PARSE_EXPRESSIONS.get(type);
+        }
+
+        return String.format("begin == end ? null : %s.valueOf(%s)", type, PARSE_EXPRESSIONS.get(primitive));
+    }
+
+    /**
+     * Adds the parse method, scanning the record column by column and calling the respective setter
+     * in straight-line code. Records containing more columns than declared are rejected.
+     */
+    private void addParseMethod(final Clazz clazz, final String[] columns) {
+        final Method method = clazz.fetchMethod(BeelderConstants.FROM_DELIMITED_METHOD_NAME);
+        method.addModifiers(PUBLIC, STATIC);
+        method.setReturnType(clazz.getKey());
+        method.addParameter(new Variable("java.lang.CharSequence", LINE_PARAM));
+        method.addParameter(new Variable("char", SEPARATOR_PARAM));
+
+        method.addLine(String.format("final %s builder = new %s();", clazz.getKey(), clazz.getKey()));
+        method.addLine(String.format("final int length = %s.length();", LINE_PARAM));
+        method.addLine("int begin = 0;");
+        method.addLine("int end;");
+
+        for(int i = 0; i < columns.length; i++) {
+            if(i > 0) {
+                method.addLine("begin = end + 1;");
+            }
+
+            method.addLine(String.format("end = %s.nextSeparator(%s, begin, length, %s);", DELIMITED, LINE_PARAM, SEPARATOR_PARAM));
+            if(!columns[i].isEmpty()) {
+                final Block block = clazz.getBuildingBlock(columns[i]);
+                method.addLine(String.format("builder.%s(%s);", block.getSetter().getKey(), parseExpressionFor(block.getValueType())));
+            }
+        }
+
+        method.addLine(String.format("%s.requireEnd(end, length);", DELIMITED));
+        method.addReturnStatement("builder");
+    }
+
+    /**
+     * Adds an overload parsing the window between position and limit of a buffer, the buffers
+     * position is not modified.
+     */
+    private void addBufferOverload(final Clazz clazz) {
+        final Method method = new Method(BeelderConstants.FROM_DELIMITED_METHOD_NAME);
+        method.addModifiers(PUBLIC, STATIC);
+        method.setReturnType(clazz.getKey());
+        method.addParameter(new Variable("java.nio.CharBuffer", "window"));
+        method.addParameter(new Variable("char", SEPARATOR_PARAM));
+        method.addReturnStatement(String.format("%s((java.lang.CharSequence) window, %s)",
+                BeelderConstants.FROM_DELIMITED_METHOD_NAME, SEPARATOR_PARAM));
+
+        clazz.addOverload(method);
+    }
+}
@@ -0,0 +1,27 @@
+package com.beelder.processor.generator;
+
+import com.beelder.processor.classbuilder.entities.Clazz;
+
+import javax.annotation.processing.ProcessingEnvironment;
+
+/**
+ * Interface for generators adding further members to a {@link Clazz}, after all
+ * annotations have been handled.
+ */
+public interface IClazzGenerator {
+    /**
+     * Checks if this generator is able to generate members for the given class.
+     *
+     * @param clazz Class to be checked
+     * @return True if members can be generated, false otherwise
+     */
+    boolean canGenerate(final Clazz clazz);
+
+    /**
+     * Generates the members of this generator into the given class.
+     *
+     * @param clazz Class to generate into
+     * @param processingEnvironment The current processing environment
+     */
+    void generate(final Clazz clazz, final ProcessingEnvironment processingEnvironment);
+}
@@ -0,0 +1,172 @@
+package com.beelder.processor.generator;
+
+import com.beelder.processor.classbuilder.entities.Block;
+import com.beelder.processor.classbuilder.entities.Clazz;
+import com.beelder.processor.classbuilder.entities.Method;
+import com.beelder.processor.classbuilder.entities.StatementBuilder;
+import com.beelder.processor.classbuilder.entities.Variable;
+import com.beelder.processor.constants.BeelderConstants;
+import com.beelder.processor.utils.BeelderUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Generates a generic setter dispatching to the setter of a building block by its name
+ * using a switch, as well as methods populating a builder from a map.
+ */
+public final class MapPopulatorGenerator implements IClazzGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(MapPopulatorGenerator.class);
+
+    private static final String NAME_PARAM = "name";
+    private static final String VALUE_PARAM = "value";
+    private static final String VALUES_PARAM = "values";
+    private static final String MAP_TYPE = "java.util.Map<java.lang.String, ?>";
+    private static final String UNKNOWN_BLOCK_METHOD_NAME = "unknownBlock";
+
+    /**
+     * Maps numeric primitives to the wrappers accepted for them, i.e. their own and those widened without loss.
+     */
+    private static final Map<String, List<String>> ACCEPTED_WRAPPERS = Map.of(
+            "byte", List.of("java.lang.Byte"),
+            "short", List.of("java.lang.Short", "java.lang.Byte"),
+            "int", List.of("java.lang.Integer", "java.lang.Short", "java.lang.Byte"),
+            "long", List.of("java.lang.Long", "java.lang.Integer", "java.lang.Short", "java.lang.Byte"),
+            "float", List.of("java.lang.Float", "java.lang.Short", "java.lang.Byte"),
+            "double", List.of("java.lang.Double", "java.lang.Float", "java.lang.Integer", "java.lang.Short", "java.lang.Byte"));
+
+    @Override
+    public boolean canGenerate(final Clazz clazz) {
+        return Objects.nonNull(clazz.getVariableFor(BeelderConstants.BUILDABLE_OBJECT_NAME))
+                && clazz.getBuildingBlocks().stream().anyMatch(Block::isSingleValued);
+    }
+
+    @Override
+    public void generate(final Clazz clazz, final ProcessingEnvironment processingEnvironment) {
+        LOG.debug("Generating map populating methods for builder {}...", clazz.getKey());
+        addGenericSetter(clazz);
+        addSetAllMethod(clazz);
+
+        if(clazz.hasDefaultConstructor()) {
+            addFromMapMethod(clazz);
+        }
+    }
+
+    /**
+     * Adds the generic setter of the form "set(name, value)", switching on the
+     * name straight to the typed setter of the building block.
+     */
+    private void addGenericSetter(final Clazz clazz) {
+        final Method method = clazz.fetchMethod(BeelderConstants.GENERIC_SETTER_METHOD_NAME);
+        method.addModifier(PUBLIC);
+        method.setReturnType(clazz.getKey());
+        method.addParameter(new Variable("java.lang.String", NAME_PARAM));
+        method.addParameter(new Variable("java.lang.Object", VALUE_PARAM));
+
+        final StatementBuilder.SwitchBlock theSwitch = StatementBuilder.createSwitchBlock(NAME_PARAM);
+        clazz.getBuildingBlocks().stream().filter(Block::isSingleValued).forEach(block -> {
+            final String label = "\"" + block.getName() + "\"";
+            theSwitch.addLineToCase(label, createDispatch(block).build(4));
+            theSwitch.addLineToCase(label, "break;");
+
+            if(block.getValueType().contains("<")) {
+                method.addAnnotation("@SuppressWarnings(\"unchecked\")");
+            }
+        });
+
+        method.addLine(theSwitch.build(2));
+        if(Objects.nonNull(clazz.getSourceElement()) && BeelderUtils.isJitFriendly(clazz.getSourceElement())) {
+            addUnknownBlockMethod(clazz);
+            method.addLine(String.format("throw %s(%s, %s);", UNKNOWN_BLOCK_METHOD_NAME, NAME_PARAM, VALUE_PARAM));
+        } else {
+            method.addLine(String.format("throw %s;", createUnknownBlockException()));
+        }
+    }
+
+    /**
+     * Moves creating the exception for unknown blocks out of the generic setter, keeping it small.
+     */
+    private void addUnknownBlockMethod(final Clazz clazz) {
+        final Method method = clazz.fetchMethod(UNKNOWN_BLOCK_METHOD_NAME);
+        method.addModifiers(PRIVATE, STATIC);
+        method.setReturnType(IllegalArgumentException.class.getName());
+        method.addParameter(new Variable("java.lang.String", NAME_PARAM));
+        method.addParameter(new Variable("java.lang.Object", VALUE_PARAM));
+        method.addReturnStatement(createUnknownBlockException());
+    }
+
+    private String createUnknownBlockException() {
+        return String.format("new %s(\"Cannot set building block \" + %s + \" to \" + %s)",
+                IllegalArgumentException.class.getName(), NAME_PARAM, VALUE_PARAM);
+    }
+
+    /**
+     * Creates the type check and setter call for a single building block, primitives are
+     * unboxed directly, numeric primitives accept wrappers of types widened without loss.
+     * Other values, e.g. doubles for int blocks, are rejected instead of being truncated.
+     */
+    private StatementBuilder.IfBlock createDispatch(final Block block) {
+        final String type = block.getValueType();
+        final String setter = block.getSetter().getKey();
+
+        if(BeelderConstants.NUMERIC_TYPES.contains(type)) {
+            final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(ACCEPTED_WRAPPERS.get(type).stream()
+                    .map(wrapper -> VALUE_PARAM + " instanceof " + wrapper)
+                    .collect(Collectors.joining(" || ")));
+            ifBlock.addLine(String.format("return %s(((java.lang.Number) %s).%sValue());", setter, VALUE_PARAM, type));
+            return ifBlock;
+        }
+
+        if(block.isPrimitive()) {
+            final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(
+                    VALUE_PARAM + " instanceof " + BeelderConstants.PRIMITIVE_WRAPPERS.get(type));
+            ifBlock.addLine(String.format("return %s((%s) %s);", setter, type, VALUE_PARAM));
+            return ifBlock;
+        }
+
+        final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(String.format(
+                "%s == null || %s instanceof %s", VALUE_PARAM, VALUE_PARAM, erasureOf(type)));
+        ifBlock.addLine(String.format("return %s((%s) %s);", setter, type, VALUE_PARAM));
+        return ifBlock;
+    }
+
+    /**
+     * @return The given type without type arguments, e.g. "java.util.List[]" for "java.util.List<java.lang.String>[]"
+     */
+    private static String erasureOf(final String type) {
+        if(!type.contains("<")) {
+            return type;
+        }
+
+        return StringUtils.substringBefore(type, "<") + StringUtils.substringAfterLast(type, ">");
+    }
+
+    private void addSetAllMethod(final Clazz clazz) {
+        final Method method = clazz.fetchMethod(BeelderConstants.SET_ALL_METHOD_NAME);
+        method.addModifier(PUBLIC);
+        method.setReturnType(clazz.getKey());
+        method.addParameter(new Variable(MAP_TYPE, VALUES_PARAM));
+        method.addLine(String.format("for (java.util.Map.Entry<java.lang.String, ?> entry : %s.entrySet()) {", VALUES_PARAM));
+        method.addLine(String.format("\t%s(entry.getKey(), entry.getValue());", BeelderConstants.GENERIC_SETTER_METHOD_NAME));
+        method.addLine("}");
+        method.addReturnStatement("this");
+    }
+
+    private void addFromMapMethod(final Clazz clazz) {
+        final Method method = clazz.fetchMethod(BeelderConstants.FROM_MAP_METHOD_NAME);
+        method.addModifiers(PUBLIC, STATIC);
+        method.setReturnType(clazz.getKey());
+        method.addParameter(new Variable(MAP_TYPE, VALUES_PARAM));
+        method.addReturnStatement(String.format("new %s().%s(%s)", clazz.getKey(), BeelderConstants.SET_ALL_METHOD_NAME, VALUES_PARAM));
+    }
+}
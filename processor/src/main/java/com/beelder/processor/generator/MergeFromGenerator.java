@@ -0,0 +1,91 @@
+package com.beelder.processor.generator;
+
+import com.beelder.annotations.Buildable;
+import com.beelder.processor.classbuilder.entities.Block;
+import com.beelder.processor.classbuilder.entities.Clazz;
+import com.beelder.processor.classbuilder.entities.Method;
+import com.beelder.processor.classbuilder.entities.StatementBuilder;
+import com.beelder.processor.classbuilder.entities.Variable;
+import com.beelder.processor.constants.BeelderConstants;
+import com.beelder.processor.utils.BeelderUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.Diagnostic;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static javax.lang.model.element.Modifier.PUBLIC;
+
+/**
+ * Generates partial updates for classes with {@link Buildable#mergeable()} set. All setters mark
+ * their block as set, "mergeFrom" copies only the blocks set in another builder and "setFields"
+ * returns the names of all set blocks.
+ */
+public final class MergeFromGenerator implements IClazzGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(MergeFromGenerator.class);
+
+    private static final String OTHER_PARAM = "other";
+    private static final String FIELDS_VAR = "fields";
+
+    @Override
+    public boolean canGenerate(final Clazz clazz) {
+        return Objects.nonNull(clazz.getSourceElement())
+                && Objects.nonNull(clazz.getVariableFor(BeelderConstants.BUILDABLE_OBJECT_NAME))
+                && BeelderUtils.fetchAnnotationForEnclosing(Buildable.class, clazz.getSourceElement()).mergeable();
+    }
+
+    @Override
+    public void generate(final Clazz clazz, final ProcessingEnvironment processingEnvironment) {
+        final String unreadable = clazz.getBuildingBlocks().stream()
+                .filter(block -> !block.isSingleValued() || !block.isReadable())
+                .map(Block::getName)
+                .collect(Collectors.joining(", "));
+        if(!unreadable.isEmpty()) {
+            LOG.error("Building blocks {} of mergeable builder {} cannot be read or take several values!", unreadable, clazz.getKey());
+            BeelderUtils.messageElementAnnotatedWith(processingEnvironment, Diagnostic.Kind.ERROR, Buildable.SIMPLE_NAME,
+                    "but building blocks " + unreadable + " are not readable or take several values, which mergeable builders cannot copy",
+                    clazz.getSourceElement());
+            return;
+        }
+
+        LOG.debug("Generating merge methods for builder {}...", clazz.getKey());
+        SetBlocksMask.addMaskFields(clazz);
+        clazz.getBuildingBlocks().forEach(SetBlocksMask::markInSetter);
+
+        addMergeFromMethod(clazz);
+        addSetFieldsMethod(clazz);
+    }
+
+    /**
+     * Adds the method copying all blocks set in the other builder via the setters of this builder,
+     * marking them as set in this builder as well.
+     */
+    private void addMergeFromMethod(final Clazz clazz) {
+        final Method method = clazz.fetchMethod(BeelderConstants.MERGE_FROM_METHOD_NAME);
+        method.addModifier(PUBLIC);
+        method.setReturnType(clazz.getKey());
+        method.addParameter(new Variable(clazz.getKey(), OTHER_PARAM));
+        clazz.getBuildingBlocks().forEach(block -> {
+            final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(SetBlocksMask.isSet(OTHER_PARAM, block));
+            ifBlock.addLine(String.format("%s(%s);", block.getSetter().getKey(),
+                    block.readFrom(OTHER_PARAM + "." + BeelderConstants.BUILDABLE_OBJECT_NAME)));
+            method.addLine(ifBlock.build(2));
+        });
+        method.addReturnStatement("this");
+    }
+
+    private void addSetFieldsMethod(final Clazz clazz) {
+        final Method method = clazz.fetchMethod(BeelderConstants.SET_FIELDS_METHOD_NAME);
+        method.addModifier(PUBLIC);
+        method.setReturnType("java.util.Set<java.lang.String>");
+        method.addLine(String.format("final java.util.Set<java.lang.String> %s = new java.util.LinkedHashSet<>();", FIELDS_VAR));
+        clazz.getBuildingBlocks().forEach(block -> {
+            final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(SetBlocksMask.isSet("this", block));
+            ifBlock.addLine(String.format("%s.add(\"%s\");", FIELDS_VAR, block.getName()));
+            method.addLine(ifBlock.build(2));
+        });
+        method.addReturnStatement(String.format("java.util.Collections.unmodifiableSet(%s)", FIELDS_VAR));
+    }
+}
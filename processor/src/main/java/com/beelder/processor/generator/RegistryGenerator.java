@@ -0,0 +1,103 @@
+package com.beelder.processor.generator;
+
+import com.beelder.processor.classbuilder.entities.Clazz;
+import com.beelder.processor.classbuilder.entities.Method;
+import com.beelder.processor.classbuilder.entities.StatementBuilder;
+import com.beelder.processor.classbuilder.entities.Variable;
+import com.beelder.processor.constants.BeelderConstants;
+import com.beelder.processor.utils.ElementUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Generates one registry class per package, mapping each class with a generated builder
+ * to a supplier of that builder. Lookups switch on the class name, no reflection needed.
+ * The registries are named {@value BeelderConstants#REGISTRY_CLASS_NAME}, unless the processor
+ * option {@value BeelderConstants#REGISTRY_NAME_OPTION} names them differently.
+ */
+public final class RegistryGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(RegistryGenerator.class);
+
+    private static final String TYPE_PARAM = "type";
+
+    /**
+     * Creates the registry classes for the given builders, builders without a default
+     * constructor cannot be supplied and are left out.
+     *
+     * @param builders All generated builders
+     * @param procEnv The current processing environment
+     * @return The registry classes, one for each package
+     */
+    public Collection<Clazz> generateRegistries(final Collection<Clazz> builders, final ProcessingEnvironment procEnv) {
+        final String registryName = procEnv.getOptions().getOrDefault(BeelderConstants.REGISTRY_NAME_OPTION, BeelderConstants.REGISTRY_CLASS_NAME);
+        if(!SourceVersion.isIdentifier(registryName) || SourceVersion.isKeyword(registryName)) {
+            LOG.error("Registry name {} is not a valid class name!", registryName);
+            procEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format("Option %s is set to %s, but it is not a valid class name!",
+                    BeelderConstants.REGISTRY_NAME_OPTION, registryName));
+            return Collections.emptyList();
+        }
+
+        final Map<String, StatementBuilder.SwitchBlock> switchesByPackage = new TreeMap<>();
+        builders.stream()
+                .filter(c -> Objects.nonNull(c.getSourceElement()) && c.hasDefaultConstructor())
+                .forEach(c -> addEntry(switchesByPackage.computeIfAbsent(c.getPackageIdent(),
+                        p -> StatementBuilder.createSwitchBlock(TYPE_PARAM + ".getName()")), c, procEnv));
+
+        return switchesByPackage.entrySet().stream()
+                .map(e -> createRegistry(registryName, e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds a case for the given builder, the binary name is compared first and the class
+     * itself afterwards to rule out equally named classes of other class loaders.
+     */
+    private void addEntry(final StatementBuilder.SwitchBlock theSwitch, final Clazz builder, final ProcessingEnvironment procEnv) {
+        final TypeElement source = (TypeElement) builder.getSourceElement();
+        final String label = "\"" + procEnv.getElementUtils().getBinaryName(source) + "\"";
+        final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(
+                String.format("%s == %s.class", TYPE_PARAM, ElementUtils.getElementNameQualified(source)));
+        ifBlock.addLine(String.format("return %s::new;", builder.getKey()));
+
+        theSwitch.addLineToCase(label, ifBlock.build(4));
+        theSwitch.addLineToCase(label, "break;");
+    }
+
+    private Clazz createRegistry(final String registryName, final String packageIdent, final StatementBuilder.SwitchBlock theSwitch) {
+        LOG.debug("Generating builder registry {} for package {}...", registryName, packageIdent);
+        final Clazz registry = new Clazz(registryName);
+        registry.setPackageIdent(packageIdent);
+        registry.addModifiers(PUBLIC, FINAL);
+
+        final Method constructor = new Method("");
+        constructor.addModifier(PRIVATE);
+        constructor.setReturnType(registry.getKey());
+        constructor.addLine("// Static registry");
+        registry.addConstructor(constructor);
+
+        final Method lookup = registry.fetchMethod(BeelderConstants.REGISTRY_LOOKUP_METHOD_NAME);
+        lookup.addModifiers(PUBLIC, STATIC);
+        lookup.setReturnType("java.util.function.Supplier<?>");
+        lookup.addParameter(new Variable("java.lang.Class<?>", TYPE_PARAM));
+        lookup.addLine(theSwitch.build(2));
+        lookup.addReturnStatement("null");
+
+        return registry;
+    }
+}
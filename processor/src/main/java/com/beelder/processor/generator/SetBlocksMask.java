@@ -0,0 +1,89 @@
+package com.beelder.processor.generator;
+
+import com.beelder.processor.classbuilder.entities.Block;
+import com.beelder.processor.classbuilder.entities.Clazz;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static javax.lang.model.element.Modifier.PRIVATE;
+
+/**
+ * Helper for tracking which building blocks of a builder have been set, using one bit per
+ * block in primitive long fields "setBlocks0", "setBlocks1", ... of the builder.
+ */
+public final class SetBlocksMask {
+    private static final String FIELD_PREFIX = "setBlocks";
+
+    private SetBlocksMask() {
+        // Util class
+    }
+
+    /**
+     * Adds all mask fields needed for the building blocks of the given class.
+     */
+    public static void addMaskFields(final Clazz clazz) {
+        if(clazz.getVariableFor(FIELD_PREFIX + 0) != null) {
+            return;
+        }
+
+        fieldsOf(clazz).forEach(field -> clazz.addVariable("long", field, null, PRIVATE));
+    }
+
+    /**
+     * @return The names of all mask fields needed for the building blocks of the given class
+     */
+    public static List<String> fieldsOf(final Clazz clazz) {
+        final int fields = (clazz.getBuildingBlocks().size() + Long.SIZE - 1) / Long.SIZE;
+        return IntStream.range(0, fields).mapToObj(i -> FIELD_PREFIX + i).collect(Collectors.toList());
+    }
+
+    /**
+     * @return The name of the mask field holding the bit of the given block
+     */
+    public static String fieldFor(final Block block) {
+        return FIELD_PREFIX + block.getIndex() / Long.SIZE;
+    }
+
+    /**
+     * @return The bit of the given block in its mask field as a long literal
+     */
+    public static String bitFor(final Block block) {
+        return "0x" + Long.toHexString(1L << (block.getIndex() % Long.SIZE)) + "L";
+    }
+
+    /**
+     * Marks the given block as set, by adding the respective line to its setter once.
+     */
+    public static void markInSetter(final Block block) {
+        if(block.isTracked()) {
+            return;
+        }
+
+        block.setTracked(true);
+        block.getSetter().addLineBeforeReturn(String.format("this.%s |= %s;", fieldFor(block), bitFor(block)));
+    }
+
+    /**
+     * @return Condition checking if the given block was set in the builder referenced by source
+     */
+    public static String isSet(final String source, final Block block) {
+        return String.format("(%s.%s & %s) != 0L", source, fieldFor(block), bitFor(block));
+    }
+
+    /**
+     * @return Condition checking if the given block was set in a snapshot of the mask, held by
+     * local variables named like the mask fields
+     */
+    public static String isSetInSnapshot(final Block block) {
+        return String.format("(%s & %s) != 0L", fieldFor(block), bitFor(block));
+    }
+
+    /**
+     * @return Condition checking if the given block was not set in the builder referenced by source
+     */
+    public static String isNotSet(final String source, final Block block) {
+        return String.format("(%s.%s & %s) == 0L", source, fieldFor(block), bitFor(block));
+    }
+}
@@ -0,0 +1,169 @@
+package com.beelder.processor.generator;
+
+import com.beelder.annotations.Buildable;
+import com.beelder.processor.classbuilder.entities.Block;
+import com.beelder.processor.classbuilder.entities.Clazz;
+import com.beelder.processor.classbuilder.entities.Method;
+import com.beelder.processor.classbuilder.entities.StatementBuilder;
+import com.beelder.processor.classbuilder.entities.Variable;
+import com.beelder.processor.constants.BeelderConstants;
+import com.beelder.processor.utils.BeelderUtils;
+import com.beelder.runtime.SparseSlots;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.Diagnostic;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+
+/**
+ * Generates builders with the sparse layout for classes with {@link Buildable#sparse()} set. The setters
+ * generated by the handlers are renamed to private "applyX" methods. The new public setters store their
+ * value in a {@link SparseSlots} instance, at the index of their block. The build method creates a new
+ * object, applies all stored values and the default values of unset blocks.
+ */
+public final class SparseBuilderGenerator implements IClazzGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(SparseBuilderGenerator.class);
+
+    private static final String SLOTS_NAME = "slots";
+    private static final Set<String> FLOATING_TYPES = Set.of("float", "double");
+
+    @Override
+    public boolean canGenerate(final Clazz clazz) {
+        return Objects.nonNull(clazz.getSourceElement())
+                && Objects.nonNull(clazz.getVariableFor(BeelderConstants.BUILDABLE_OBJECT_NAME))
+                && clazz.containsMethod(BeelderConstants.NEW_OBJECT_METHOD_NAME)
+                && BeelderUtils.isSparse(clazz.getSourceElement());
+    }
+
+    @Override
+    public void generate(final Clazz clazz, final ProcessingEnvironment processingEnvironment) {
+        if(!checkClass(clazz, processingEnvironment)) {
+            return;
+        }
+
+        LOG.debug("Generating sparse setters for builder {}...", clazz.getKey());
+        clazz.addVariable(SparseSlots.class.getName(), SLOTS_NAME, String.format("new %s()", SparseSlots.class.getName()), PRIVATE, FINAL);
+
+        final StatementBuilder.SwitchBlock refs = StatementBuilder.createSwitchBlock(String.format("this.%s.refSlot(i)", SLOTS_NAME));
+        final StatementBuilder.SwitchBlock primitives = StatementBuilder.createSwitchBlock(String.format("this.%s.primitiveSlot(i)", SLOTS_NAME));
+        final List<Block> blocks = List.copyOf(clazz.getBuildingBlocks());
+        blocks.forEach(block -> {
+            final String setterName = block.getSetter().getKey();
+            final String applyName = BeelderConstants.APPLY_METHOD_PREFIX + StringUtils.capitalize(block.getName());
+            clazz.renameMethod(setterName, applyName);
+            block.getSetter().removeModifier(PUBLIC);
+            block.getSetter().addModifier(PRIVATE);
+
+            addSparseSetter(clazz, block, setterName);
+            final StatementBuilder.SwitchBlock theSwitch = block.isPrimitive() ? primitives : refs;
+            final String label = String.valueOf(block.getIndex());
+            theSwitch.addLineToCase(label, String.format("%s(%s);", applyName, readValueOf(block)));
+            theSwitch.addLineToCase(label, "break;");
+        });
+
+        final Method build = clazz.fetchMethod(BeelderConstants.BUILD_METHOD_NAME);
+        build.addLine(String.format("this.%s = %s();", BeelderConstants.BUILDABLE_OBJECT_NAME, BeelderConstants.NEW_OBJECT_METHOD_NAME));
+        if(blocks.stream().anyMatch(block -> !block.isPrimitive())) {
+            addApplyLoop(build, "refCount", refs);
+        }
+        if(blocks.stream().anyMatch(Block::isPrimitive)) {
+            addApplyLoop(build, "primitiveCount", primitives);
+        }
+        if(blocks.stream().anyMatch(block -> !block.isPrimitive() && block.getValueType().contains("<"))) {
+            build.addAnnotation("@SuppressWarnings(\"unchecked\")");
+        }
+
+        blocks.stream().filter(block -> Objects.nonNull(block.getDefaultProvider())).forEach(block -> {
+            final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(
+                    String.format("!this.%s.contains(%d)", SLOTS_NAME, block.getIndex()));
+            ifBlock.addLine(String.format("%s(%s);", block.getSetter().getKey(), block.getDefaultProvider()));
+            build.addLine(ifBlock.build(2));
+        });
+    }
+
+    /**
+     * Checks if the options of the class can be combined with the sparse layout and all blocks are
+     * single valued, throws compiler errors otherwise.
+     */
+    private boolean checkClass(final Clazz clazz, final ProcessingEnvironment procEnv) {
+        final Buildable buildable = BeelderUtils.fetchAnnotationForEnclosing(Buildable.class, clazz.getSourceElement());
+        if(buildable.canonical() || buildable.mergeable() || buildable.concurrent()) {
+            LOG.error("Builder {} is sparse, but also canonical, mergeable or concurrent!", clazz.getKey());
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, Buildable.SIMPLE_NAME,
+                    "but sparse builders cannot be canonical, mergeable or concurrent", clazz.getSourceElement());
+            return false;
+        }
+
+        final String multiValued = clazz.getBuildingBlocks().stream()
+                .filter(block -> !block.isSingleValued())
+                .map(Block::getName)
+                .collect(Collectors.joining(", "));
+        if(!multiValued.isEmpty()) {
+            LOG.error("Building blocks {} of sparse builder {} take several values!", multiValued, clazz.getKey());
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, Buildable.SIMPLE_NAME,
+                    "but building blocks " + multiValued + " take several values, which sparse builders cannot store", clazz.getSourceElement());
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds the public setter for the given block, storing the value in the slot of the block.
+     */
+    private void addSparseSetter(final Clazz clazz, final Block block, final String setterName) {
+        final Variable param = block.getSetter().getParameters().get(0);
+        final Method method = clazz.fetchMethod(setterName);
+        method.addModifier(PUBLIC);
+        method.setReturnType(clazz.getKey());
+        method.addParameter(Objects.isNull(param.getTypeMirror()) ? new Variable(param.getType(), BeelderConstants.SETTER_METHOD_PARAM_NAME)
+                : new Variable(param.getTypeMirror(), BeelderConstants.SETTER_METHOD_PARAM_NAME));
+
+        final String value = BeelderConstants.SETTER_METHOD_PARAM_NAME;
+        if(!block.isPrimitive()) {
+            method.addLine(String.format("this.%s.set(%d, %s);", SLOTS_NAME, block.getIndex(), value));
+        } else if(FLOATING_TYPES.contains(block.getValueType())) {
+            method.addLine(String.format("this.%s.setDouble(%d, %s);", SLOTS_NAME, block.getIndex(), value));
+        } else if("boolean".equals(block.getValueType())) {
+            method.addLine(String.format("this.%s.setLong(%d, %s ? 1L : 0L);", SLOTS_NAME, block.getIndex(), value));
+        } else {
+            method.addLine(String.format("this.%s.setLong(%d, %s);", SLOTS_NAME, block.getIndex(), value));
+        }
+        method.addReturnStatement("this");
+    }
+
+    /**
+     * @return Expression reading the i-th value of the area the given block is stored in
+     */
+    private static String readValueOf(final Block block) {
+        final String type = block.getValueType();
+        if(!block.isPrimitive()) {
+            return String.format("(%s) this.%s.ref(i)", type, SLOTS_NAME);
+        }
+        if("boolean".equals(type)) {
+            return String.format("this.%s.primitive(i) != 0L", SLOTS_NAME);
+        }
+
+        final String read = FLOATING_TYPES.contains(type) ?
+                String.format("this.%s.primitiveAsDouble(i)", SLOTS_NAME) : String.format("this.%s.primitive(i)", SLOTS_NAME);
+        return "long".equals(type) || "double".equals(type) ? read : String.format("(%s) %s", type, read);
+    }
+
+    /**
+     * Adds the loop applying all values stored in one area to the build method.
+     */
+    private static void addApplyLoop(final Method build, final String countMethod, final StatementBuilder.SwitchBlock theSwitch) {
+        build.addLine(String.format("for (int i = 0; i < this.%s.%s(); i++) {", SLOTS_NAME, countMethod));
+        build.addLine("\t" + theSwitch.build(3));
+        build.addLine("}");
+    }
+}
@@ -1,6 +1,7 @@
 package com.beelder.processor.handler;
 
 import com.beelder.annotations.Buildable;
+import com.beelder.annotations.CodegenProfile;
 import com.beelder.annotations.Excluded;
 import com.beelder.processor.classbuilder.ClazzBuilder;
 import com.beelder.processor.classbuilder.entities.Clazz;
@@ -10,6 +11,8 @@ import com.beelder.processor.classbuilder.entities.Variable;
 import com.beelder.processor.constants.BeelderConstants;
 import com.beelder.processor.utils.BeelderUtils;
 import com.beelder.processor.utils.ElementUtils;
+import com.beelder.processor.utils.TypeRenderer;
+import com.beelder.runtime.Reflection;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,9 +30,11 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PROTECTED;
 import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
 
 public final class BuildableHandler implements IAnnotationHandler {
     private static final Logger LOG = LoggerFactory.getLogger(BuildableHandler.class);
@@ -56,10 +61,14 @@ public final class BuildableHandler implements IAnnotationHandler {
         final Clazz clazzObj = ClazzBuilder.getRootForName(ElementUtils.getBuilderNameFor(clazz));
         final String classNameQual = ElementUtils.getElementNameQualified(clazz);
         clazzObj.setPackageIdent(StringUtils.substringBeforeLast(classNameQual, "."));
+        clazzObj.setSourceElement(clazz);
         clazzObj.addVariable(classNameQual, BeelderConstants.BUILDABLE_OBJECT_NAME, null, PRIVATE);
 
         final Buildable buildableAnnot = BeelderUtils.fetchAnnotationForEnclosing(Buildable.class, clazz);
         clazzObj.addModifier(buildableAnnot.builderAccess().getModifier());
+        if(CodegenProfile.JIT_FRIENDLY.equals(buildableAnnot.profile())) {
+            clazzObj.addModifier(FINAL);
+        }
 
         return clazzObj;
     }
@@ -102,11 +111,16 @@ public final class BuildableHandler implements IAnnotationHandler {
             LOG.debug("Adding public constructors to generated builder {}...", clazz.getKey());
         }
 
+        if(BeelderUtils.isSparse(classElement) || BeelderUtils.isConcurrent(classElement)) {
+            addDeferredConstructorToClazz(clazz, sourceNameQual, classElement, groupedByPublic, reflectionEnabled, procEnv);
+            return;
+        }
+
         groupedByPublic.get(true).forEach(con -> addPublicConstructorToClazz(clazz, sourceNameQual, con));
 
         if(reflectionEnabled) {
             LOG.debug("Adding private constructors to generated builder {}...", clazz.getKey());
-            groupedByPublic.get(false).forEach(con -> addReflectionConstructorToClazz(clazz, sourceNameQual, con));
+            groupedByPublic.get(false).forEach(con -> addReflectionConstructorToClazz(clazz, sourceNameQual, con, procEnv));
         }
     }
 
@@ -121,26 +135,71 @@ public final class BuildableHandler implements IAnnotationHandler {
         clazz.addConstructor(constructor);
     }
 
+    /**
+     * Adds a constructor calling the given inaccessible constructor via reflection, the constructor
+     * is looked up once and cached in a static field of the builder. The arguments are always passed
+     * as explicit array, so a single array parameter is not spread as varargs.
+     */
     @SuppressWarnings("ConstantConditions") // constructor will always be a method
-    private void addReflectionConstructorToClazz(final Clazz clazz, final String sourceName, final Element constructorEl) {
+    private void addReflectionConstructorToClazz(final Clazz clazz, final String sourceName, final Element constructorEl,
+                                                 final ProcessingEnvironment procEnv) {
         final ExecutableElement asMethod = ElementUtils.asMethod(constructorEl);
         final Method constructor = createMethodBase(clazz, asMethod);
-        final String[] parameters = constructor.getParameters().stream().map(Variable::getKey).toArray(String[]::new);
-        final String newInstCall = StatementBuilder
-                .createAssignToMethodCall("this", BeelderConstants.BUILDABLE_OBJECT_NAME, "constructor", "newInstance", parameters)
-                .replace("= ", "= (".concat(sourceName).concat(") "));
-
-        final StatementBuilder.TryBlock theTry = StatementBuilder.createTryBlock();
-        theTry.addLine(
-                String.format("java.lang.reflect.Constructor<?> constructor = %s.class.getDeclaredConstructor(%s);",
-                        sourceName, constructor.getParameters().stream().map(var -> var.getType().concat(".class")).collect(Collectors.joining(", "))));
-        theTry.addLine("constructor.setAccessible(true);");
-        theTry.addLine(newInstCall);
-        theTry.addLine("constructor.setAccessible(false);");
-        theTry.addLineToCatchClause("", "NoSuchMethodException", "IllegalAccessException", "InstantiationException", "java.lang.reflect.InvocationTargetException");
-
-        constructor.addLine(theTry.build(2));
+        final String handleName = addConstructorHandle(clazz, sourceName, constructor.getParameters(), procEnv);
+        final String arguments = constructor.getParameters().stream().map(Variable::getKey).collect(Collectors.joining(", "));
+
+        constructor.addLine(StatementBuilder.createAssignToMethodCall("this", BeelderConstants.BUILDABLE_OBJECT_NAME,
+                Reflection.class.getName(), "newInstance", handleName, String.format("new java.lang.Object[]{%s}", arguments)));
+        clazz.addConstructor(constructor);
+    }
+
+    /**
+     * Caches the constructor of the source class taking the given parameters in a static field of the builder,
+     * looked up by the erasures of the parameter types.
+     *
+     * @return The name of the static field
+     */
+    private String addConstructorHandle(final Clazz clazz, final String sourceName, final List<Variable> parameters,
+                                        final ProcessingEnvironment procEnv) {
+        final String handleName = "CONSTRUCTOR_" + clazz.getVariables().stream().filter(var -> var.getKey().startsWith("CONSTRUCTOR_")).count();
+        final String parameterTypes = parameters.stream()
+                .map(var -> TypeRenderer.render(procEnv.getTypeUtils().erasure(var.getTypeMirror())).concat(".class"))
+                .map(", "::concat)
+                .collect(Collectors.joining());
+        clazz.addVariable(String.format("java.lang.reflect.Constructor<%s>", sourceName), handleName,
+                String.format("%s.findConstructor(%s.class%s)", Reflection.class.getName(), sourceName, parameterTypes), PRIVATE, STATIC, FINAL);
+
+        return handleName;
+    }
+
+    /**
+     * Adds the only constructor of builders with the sparse layout or in concurrent mode, which does not create
+     * the object. A new one is created by a separate method on each build instead, calling the constructor without
+     * parameters of the class element, via reflection if it is inaccessible. Throws a compiler error if there is
+     * no such constructor.
+     */
+    private void addDeferredConstructorToClazz(final Clazz clazz, final String sourceName, final Element classElement,
+                                             final Map<Boolean, List<Element>> groupedByPublic, final boolean reflectionEnabled,
+                                             final ProcessingEnvironment procEnv) {
+        final boolean accessible = groupedByPublic.get(true).stream().anyMatch(BuildableHandler::hasNoParameters);
+        if(!accessible && !(reflectionEnabled && groupedByPublic.get(false).stream().anyMatch(BuildableHandler::hasNoParameters))) {
+            LOG.error("Found no constructor without parameters for sparse or concurrent builder of class {}, throwing compiler error!", classElement);
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, Buildable.SIMPLE_NAME,
+                    "but sparse and concurrent builders require a constructor without parameters", classElement);
+            return;
+        }
+
+        final Method constructor = new Method("");
+        constructor.addModifier(PUBLIC);
+        constructor.setReturnType(clazz.getKey());
+        constructor.addLine("// Creates the object on build");
         clazz.addConstructor(constructor);
+
+        final Method newObject = clazz.fetchMethod(BeelderConstants.NEW_OBJECT_METHOD_NAME);
+        newObject.addModifier(PRIVATE);
+        newObject.setReturnType(sourceName);
+        newObject.addReturnStatement(accessible ? "new " + sourceName + "()" :
+                String.format("%s.newInstance(%s)", Reflection.class.getName(), addConstructorHandle(clazz, sourceName, List.of(), procEnv)));
     }
 
     private Method createMethodBase(final Clazz clazz, final ExecutableElement method) {
@@ -157,4 +216,8 @@ public final class BuildableHandler implements IAnnotationHandler {
     private static boolean isConstructor(final Element element) {
         return ElementKind.CONSTRUCTOR.equals(element.getKind());
     }
+
+    private static boolean hasNoParameters(final Element constructor) {
+        return ((ExecutableElement) constructor).getParameters().isEmpty();
+    }
 }
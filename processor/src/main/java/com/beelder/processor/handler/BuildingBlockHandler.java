@@ -3,6 +3,7 @@ package com.beelder.processor.handler;
 import com.beelder.annotations.Buildable;
 import com.beelder.annotations.buildingblock.BuildingBlock;
 import com.beelder.processor.classbuilder.ClazzBuilder;
+import com.beelder.processor.classbuilder.entities.Block;
 import com.beelder.processor.classbuilder.entities.Clazz;
 import com.beelder.processor.classbuilder.entities.Method;
 import com.beelder.processor.classbuilder.entities.StatementBuilder;
@@ -10,6 +11,8 @@ import com.beelder.processor.classbuilder.entities.Variable;
 import com.beelder.processor.constants.BeelderConstants;
 import com.beelder.processor.utils.BeelderUtils;
 import com.beelder.processor.utils.ElementUtils;
+import com.beelder.runtime.Reflection;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,16 +21,17 @@ import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
-import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ExecutableType;
 import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
+import java.util.List;
 import java.util.Objects;
-import java.util.Set;
+import java.util.stream.Collectors;
 
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
-import static javax.lang.model.element.Modifier.PROTECTED;
 import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.lang.model.element.Modifier.STATIC;
 
@@ -43,77 +47,193 @@ public final class BuildingBlockHandler implements IAnnotationHandler {
     public void handleAnnotation(TypeElement annotation, RoundEnvironment roundEnvironment,
                                  ProcessingEnvironment processingEnvironment) {
         LOG.info("Handling annotation {}...", annotation.getSimpleName());
-        roundEnvironment.getElementsAnnotatedWith(annotation).forEach(e -> handleAnnotatedElement(e, processingEnvironment));
+        roundEnvironment.getElementsAnnotatedWith(annotation).forEach(e -> handleAnnotatedElement(e, roundEnvironment, processingEnvironment));
         LOG.info("Successfully handled annotation {}!", annotation.getSimpleName());
     }
 
-    private void handleAnnotatedElement(final Element element, final ProcessingEnvironment procEnv) {
-        if(!checkEnclosingClass(element, procEnv)) {
+    /**
+     * Handles the given field or method for the builders of its enclosing class and all subclasses
+     * annotated with {@link Buildable}, so building blocks of superclasses are inherited.
+     */
+    private void handleAnnotatedElement(final Element element, final RoundEnvironment roundEnv, final ProcessingEnvironment procEnv) {
+        final List<TypeElement> targets = BeelderUtils.findBuildableTargets(element, roundEnv, procEnv);
+        if(!checkTargets(element, targets, procEnv) || !checkFieldMods(element, procEnv)) {
             return;
         }
 
-        if(ElementKind.FIELD.equals(element.getKind())) {
-            LOG.debug("Handling field {} annotated with {}...", element.getSimpleName(), BuildingBlock.SIMPLE_NAME);
-            handleField(element, procEnv);
-        } else if(ElementKind.METHOD.equals(element.getKind())) {
-            LOG.debug("Handling method {} annotated with {}...", element.getSimpleName(), BuildingBlock.SIMPLE_NAME);
-            handleMethod(element, procEnv);
+        final boolean isField = ElementKind.FIELD.equals(element.getKind());
+        final String blockName = isField ? ElementUtils.getElementNameSimple(element) : ElementUtils.blockNameFrom(element);
+        for(final TypeElement target:targets) {
+            if(isField) {
+                LOG.debug("Handling field {} annotated with {} for {}...", element.getSimpleName(), BuildingBlock.SIMPLE_NAME, target);
+                handleField(element, target, procEnv);
+            } else if(ElementKind.METHOD.equals(element.getKind())) {
+                LOG.debug("Handling method {} annotated with {} for {}...", element.getSimpleName(), BuildingBlock.SIMPLE_NAME, target);
+                handleMethod(element, blockName, target, procEnv);
+            }
+
+            final Block block = ClazzBuilder.getRootForName(ElementUtils.getBuilderNameFor(target)).getBuildingBlock(blockName);
+            final String defaultProvider = Objects.isNull(block) ? null : resolveDefaultProvider(element, target, procEnv);
+            if(Objects.nonNull(defaultProvider)) {
+                block.setDefaultProvider(defaultProvider);
+            }
+            if(Objects.nonNull(block) && element.getAnnotation(BuildingBlock.class).accumulate()) {
+                handleAccumulation(element, block, target, procEnv);
+            }
+        }
+    }
+
+    /**
+     * Marks the given block as accumulating, throws a compiler warning if the builder of the target
+     * class is not generated in concurrent mode.
+     */
+    private void handleAccumulation(final Element element, final Block block, final TypeElement target, final ProcessingEnvironment procEnv) {
+        if(BeelderUtils.isConcurrent(target)) {
+            block.setAccumulating(true);
+            return;
+        }
+
+        LOG.warn("Building block {} accumulates, but builder of {} is not concurrent!", block.getName(), target);
+        BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.WARNING, BuildingBlock.SIMPLE_NAME,
+                "but accumulating values is only supported by builders in concurrent mode, values for " + target + " will be replaced", element);
+    }
+
+    /**
+     * Resolves the default provider of the given building block, if any. Throws a compiler error if the
+     * provider is no static method without parameters accessible from the builder of the target class,
+     * returning a value assignable to the block.
+     *
+     * @return The call to the provider, null if there is none
+     */
+    private String resolveDefaultProvider(final Element element, final TypeElement target, final ProcessingEnvironment procEnv) {
+        final String provider = element.getAnnotation(BuildingBlock.class).defaultProvider();
+        if(provider.isEmpty()) {
+            return null;
+        }
+
+        final TypeMirror blockType = blockTypeOf(element, target, procEnv);
+        final ExecutableElement providerMethod = lookForProviderMethod(element, provider, target, procEnv);
+
+        if(Objects.isNull(blockType) || Objects.isNull(providerMethod)
+                || !procEnv.getTypeUtils().isAssignable(providerMethod.getReturnType(), blockType)) {
+            LOG.debug("Default provider {} is not suitable, throwing compiler error!", provider);
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, BuildingBlock.SIMPLE_NAME,
+                    "but default provider " + provider + " is no accessible static method without parameters returning a suitable value", element);
+            return null;
+        }
+
+        return ElementUtils.getElementNameQualified(providerMethod.getEnclosingElement())
+                + "." + ElementUtils.getElementNameSimple(providerMethod) + "()";
+    }
+
+    /**
+     * @return The type of the given field, or of the only parameter of the given method, as member of the
+     * target class, null if the method takes several parameters
+     */
+    private TypeMirror blockTypeOf(final Element element, final TypeElement target, final ProcessingEnvironment procEnv) {
+        return ElementKind.FIELD.equals(element.getKind()) ?
+                ElementUtils.asMemberOf(element, target, procEnv) : singleParameterTypeOf(element, target, procEnv);
+    }
+
+    /**
+     * Looks up the static method without parameters referenced by the given provider, either the
+     * name of a method in the class enclosing the element or of the form "Type::method", accessible from the
+     * builder of the target class.
+     *
+     * @return The provider method, null if not found
+     */
+    private ExecutableElement lookForProviderMethod(final Element element, final String provider, final TypeElement target,
+                                                    final ProcessingEnvironment procEnv) {
+        final Element enclosingClazz = element.getEnclosingElement();
+        final TypeElement providerClazz;
+        final String methodName;
+
+        if(provider.contains("::")) {
+            final String typeName = StringUtils.substringBefore(provider, "::");
+            final TypeElement qualified = procEnv.getElementUtils().getTypeElement(typeName);
+            providerClazz = Objects.nonNull(qualified) ? qualified : procEnv.getElementUtils().getTypeElement(
+                    procEnv.getElementUtils().getPackageOf(enclosingClazz).getQualifiedName() + "." + typeName);
+            methodName = StringUtils.substringAfter(provider, "::");
+        } else {
+            providerClazz = (TypeElement) enclosingClazz;
+            methodName = provider;
+        }
+
+        if(Objects.isNull(providerClazz)) {
+            return null;
         }
+
+        return providerClazz.getEnclosedElements().stream()
+                .filter(e -> ElementKind.METHOD.equals(e.getKind()) && e.getSimpleName().contentEquals(methodName))
+                .map(ExecutableElement.class::cast)
+                .filter(m -> m.getParameters().isEmpty() && m.getModifiers().contains(STATIC))
+                .filter(m -> ElementUtils.isAccessibleFromBuilder(m, target, procEnv))
+                .findFirst().orElse(null);
     }
 
     /**
-     * Checks if the enclosing class is annotated with {@link Buildable}. If it is not builder generation will be
-     * aborted, because the respective {@link Clazz} will be missing!
+     * Checks if the enclosing class or any of its subclasses is annotated with {@link Buildable}. If none is
+     * builder generation will be aborted, because the respective {@link Clazz} will be missing!
      *
      * @param fieldOrMethod Field or method in the class to be checked
+     * @param targets All classes annotated with {@link Buildable} the element is a member of
      * @return True if handling can continue, false otherwise
      */
-    private boolean checkEnclosingClass(final Element fieldOrMethod, final ProcessingEnvironment procEnv) {
-        if(Objects.nonNull(BeelderUtils.fetchAnnotationForEnclosing(Buildable.class, fieldOrMethod))) {
+    private boolean checkTargets(final Element fieldOrMethod, final List<TypeElement> targets, final ProcessingEnvironment procEnv) {
+        if(!targets.isEmpty()) {
             return true;
         }
 
-        LOG.error("Enclosing class of field or method {} is not annotated with @{}, builder generation will be aborted!",
+        LOG.error("Neither enclosing class of field or method {} nor any subclass is annotated with @{}, builder generation will be aborted!",
                 fieldOrMethod.getSimpleName(), Buildable.SIMPLE_NAME);
         BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.WARNING, BuildingBlock.SIMPLE_NAME,
-                "but enclosing class is not annotated with @" + Buildable.SIMPLE_NAME + "! Builder will not be generated", fieldOrMethod);
+                "but neither enclosing class nor any subclass is annotated with @" + Buildable.SIMPLE_NAME + "! Builder will not be generated", fieldOrMethod);
         return false;
     }
 
     /**
-     * Checks if a given field is either final (not suitable to be modified by a builder),
-     * public/package-private (assign the variable directly in the generated builder)
-     * or private (checks for a setter method in the original class)!
+     * Checks if a given element is a final or static field (not suitable to be modified by a builder).
      */
-    private void handleField(final Element field, final ProcessingEnvironment procEnv) {
-        final String enclosingClazz = ElementUtils.getBuilderNameFor(field);
-        final Set<Modifier> modifiers = field.getModifiers();
-
-        if(BeelderUtils.containsAny(modifiers, FINAL, STATIC)) {
+    private boolean checkFieldMods(final Element element, final ProcessingEnvironment procEnv) {
+        if(ElementKind.FIELD.equals(element.getKind()) && BeelderUtils.containsAny(element.getModifiers(), FINAL, STATIC)) {
             LOG.debug("Field is final, throwing compiler error!");
             BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, BuildingBlock.SIMPLE_NAME,
-                    "but is final or static", field);
-        } else if(BeelderUtils.containsNone(modifiers, PRIVATE, PROTECTED)) {
-            LOG.debug("Field is accessible, adding new method to builder root!");
-            addPublicVarAssign(ClazzBuilder.getRootForName(enclosingClazz), field);
-        } else {
-            final Element setterMethod = lookForSetterMethod(field.getEnclosingElement(), ElementUtils.setterMethodFrom(field));
+                    "but is final or static", element);
+            return false;
+        }
 
-            if(Objects.isNull(setterMethod) &&
-                    BeelderUtils.fetchAnnotationForEnclosing(Buildable.class, field).writeWithReflection()) {
-                handleNullSetter(field, enclosingClazz, procEnv);
-                return;
-            }
+        return true;
+    }
 
-            LOG.debug("Found setter method for field {}...", field.getSimpleName());
-            handleMethod(setterMethod, procEnv);
+    /**
+     * Checks if a given field is either accessible from the builder of the target class (assign the
+     * variable directly in the generated builder) or not (checks for a setter method in the target
+     * class and its superclasses)!
+     */
+    private void handleField(final Element field, final TypeElement target, final ProcessingEnvironment procEnv) {
+        final String builderName = ElementUtils.getBuilderNameFor(target);
+
+        if(ElementUtils.isAccessibleFromBuilder(field, target, procEnv)) {
+            LOG.debug("Field is accessible, adding new method to builder root!");
+            addPublicVarAssign(ClazzBuilder.getRootForName(builderName), field, target, procEnv);
+            return;
+        }
+
+        final Element setterMethod = lookForSetterMethod(target, ElementUtils.setterMethodFrom(field),
+                ElementUtils.asMemberOf(field, target, procEnv), procEnv);
+        if(Objects.isNull(setterMethod)) {
+            handleNullSetter(field, target, procEnv);
+            return;
         }
+
+        LOG.debug("Found setter method for field {}...", field.getSimpleName());
+        handleMethod(setterMethod, ElementUtils.getElementNameSimple(field), target, procEnv);
     }
 
-    private void handleNullSetter(final Element source, final String enclosingClazz, final ProcessingEnvironment procEnv) {
-        if(BeelderUtils.fetchAnnotationForEnclosing(Buildable.class, source).writeWithReflection()) {
+    private void handleNullSetter(final Element source, final TypeElement target, final ProcessingEnvironment procEnv) {
+        if(BeelderUtils.fetchAnnotationForEnclosing(Buildable.class, target).writeWithReflection()) {
             LOG.debug("Field is not accessible, but setting via reflection was enabled for this builder!");
-            addReflectionSettingMethod(source, enclosingClazz);
+            addReflectionSettingMethod(source, target, procEnv);
         } else {
             LOG.debug("Field is private and does not contain a valid setter method, throwing compiler error!");
             BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR,
@@ -122,48 +242,48 @@ public final class BuildingBlockHandler implements IAnnotationHandler {
     }
 
     /**
-     * Is only called if reflection is enabled for the generated builder. Generates a try-catch
-     * block to set the given field in the source object via reflection and adds the method for
-     * that to the builder root.
+     * Is only called if reflection is enabled for the generated builder. Caches the given field in a
+     * static field of the builder root and adds a method setting it in the source object via reflection.
      */
-    private void addReflectionSettingMethod(final Element field, final String builderName) {
+    private void addReflectionSettingMethod(final Element field, final TypeElement target, final ProcessingEnvironment procEnv) {
+        final String builderName = ElementUtils.getBuilderNameFor(target);
         final String fieldNameSimple = ElementUtils.getElementNameSimple(field);
         final Clazz clazz = ClazzBuilder.getRootForName(builderName);
-        final Variable objectVar = clazz.getVariableFor(BeelderConstants.BUILDABLE_OBJECT_NAME);
+        final String declaringClazz = ElementUtils.getElementNameQualified(field.getEnclosingElement());
 
         if(clazz.containsMethod(ElementUtils.setterMethodFrom(field))) {
             return;
         }
 
-        final StatementBuilder.TryBlock theTry = StatementBuilder.createTryBlock();
-        theTry.addLine(String.format(
-                "java.lang.reflect.Field field = %s.class.getDeclaredField(\"%s\");", objectVar.getType(), fieldNameSimple));
-        theTry.addLine("field.setAccessible(true);");
-        theTry.addLine(String.format(
-                "field.set(this.%s, %s);", BeelderConstants.BUILDABLE_OBJECT_NAME, BeelderConstants.SETTER_METHOD_PARAM_NAME));
-        theTry.addLine("field.setAccessible(false);");
-        theTry.addLineToCatchClause("", "NoSuchFieldException | IllegalAccessException");
+        final String handleName = BeelderUtils.toConstantName(fieldNameSimple) + "_FIELD";
+        clazz.addVariable("java.lang.reflect.Field", handleName, String.format("%s.findField(%s.class, \"%s\")",
+                Reflection.class.getName(), declaringClazz, fieldNameSimple), PRIVATE, STATIC, FINAL);
 
         final Method method = clazz.fetchMethod(ElementUtils.setterMethodFrom(field));
-        final Variable param = new Variable(ElementUtils.getElementType(field), BeelderConstants.SETTER_METHOD_PARAM_NAME);
+        final Variable param = new Variable(ElementUtils.asMemberOf(field, target, procEnv), BeelderConstants.SETTER_METHOD_PARAM_NAME);
         method.addModifier(PUBLIC);
         method.setReturnType(builderName);
         method.addParameter(param);
-        method.addLine(theTry.build(2));
+        method.addLine(StatementBuilder.createMethodCall(Reflection.class.getName(), "setField",
+                handleName, "this." + BeelderConstants.BUILDABLE_OBJECT_NAME, BeelderConstants.SETTER_METHOD_PARAM_NAME));
         method.addReturnStatement("this");
+
+        final Block block = new Block(fieldNameSimple, method);
+        block.setReadExpression(String.format("%s.getField(%s, %%s)", Reflection.class.getName(), handleName));
+        clazz.addBuildingBlock(block);
     }
 
     /**
-     * Checks if a given method is either private/protected (not suitable to be called by a builder),
-     * or not returning void (should probably not be called without considering the returned object),
-     * else adds this method to the builder.
+     * Checks if a given method is either inaccessible from the builder of the target class (not suitable
+     * to be called by a builder), or not returning void (should probably not be called without considering
+     * the returned object), else adds this method to the builder.
      */
-    private void handleMethod(final Element methodEl, final ProcessingEnvironment procEnv) {
-        if(!checkMethodMods(methodEl, procEnv)) {
+    private void handleMethod(final Element methodEl, final String blockName, final TypeElement target, final ProcessingEnvironment procEnv) {
+        if(!checkMethodMods(methodEl, target, procEnv)) {
             return;
         }
 
-        final String enclosingClazz = ElementUtils.getBuilderNameFor(methodEl);
+        final String enclosingClazz = ElementUtils.getBuilderNameFor(target);
         final Clazz clazz = ClazzBuilder.getRootForName(enclosingClazz);
         final String methodName = ElementUtils.getElementNameSimple(methodEl);
 
@@ -172,11 +292,19 @@ public final class BuildingBlockHandler implements IAnnotationHandler {
             return;
         }
 
-        createMethodCallForClazz(clazz, methodName, methodExecEl);
+        final List<? extends TypeMirror> parameterTypes = ((ExecutableType) ElementUtils.asMemberOf(methodExecEl, target, procEnv)).getParameterTypes();
+        final Method method = createMethodCallForClazz(clazz, methodName, parameterTypes);
+        final Block block = new Block(blockName, method);
+        if(parameterTypes.size() == 1) {
+            final Element getter = lookForGetterMethod(target, blockName, parameterTypes.get(0), procEnv);
+            block.setReadExpression(Objects.isNull(getter) ? null : "%s." + ElementUtils.getElementNameSimple(getter) + "()");
+        }
+
+        clazz.addBuildingBlock(block);
     }
 
-    private boolean checkMethodMods(final Element method, final ProcessingEnvironment procEnv) {
-        if(BeelderUtils.containsAny(method.getModifiers(), PRIVATE, PROTECTED)) {
+    private boolean checkMethodMods(final Element method, final TypeElement target, final ProcessingEnvironment procEnv) {
+        if(!ElementUtils.isAccessibleFromBuilder(method, target, procEnv)) {
             LOG.debug("Method is inaccessible, throwing compiler warning!");
             BeelderUtils.messageElementAnnotatedWith(
                     procEnv, Diagnostic.Kind.ERROR, BuildingBlock.SIMPLE_NAME, "but is not accessible from outside the class", method);
@@ -199,24 +327,23 @@ public final class BuildingBlockHandler implements IAnnotationHandler {
         return methodExecEl;
     }
 
-    private void createMethodCallForClazz(final Clazz clazz, final String methodName, final ExecutableElement methodEl) {
+    private Method createMethodCallForClazz(final Clazz clazz, final String methodName, final List<? extends TypeMirror> parameterTypes) {
         final Method method = clazz.fetchMethod(methodName);
         method.setReturnType(clazz.getKey());
-        methodEl.getParameters().stream().map(Variable::from).forEach(var -> {
-            var.setKey(BeelderConstants.SETTER_METHOD_PARAM_NAME + method.parameterNum());
-            method.addParameter(var);
-        });
+        parameterTypes.forEach(type -> method.addParameter(new Variable(type, BeelderConstants.SETTER_METHOD_PARAM_NAME + method.parameterNum())));
 
         final String[] parametersAsStr = method.getParameters().stream().map(Variable::getKey).toArray(String[]::new);
         method.addModifier(PUBLIC);
         method.addLine(StatementBuilder.createMethodCall("this." + BeelderConstants.BUILDABLE_OBJECT_NAME, methodName, parametersAsStr));
         method.addReturnStatement("this");
+
+        return method;
     }
 
     /**
      * Field is public/package-private -> create direct assignment.
      */
-    private void addPublicVarAssign(final Clazz clazz, final Element element) {
+    private void addPublicVarAssign(final Clazz clazz, final Element element, final TypeElement target, final ProcessingEnvironment procEnv) {
         final String fieldName = ElementUtils.getElementNameSimple(element);
         final String methodName = ElementUtils.setterMethodFrom(element);
 
@@ -225,17 +352,67 @@ public final class BuildingBlockHandler implements IAnnotationHandler {
         }
 
         final Method method = clazz.fetchMethod(methodName);
-        final Variable param = new Variable(ElementUtils.getElementType(element), BeelderConstants.SETTER_METHOD_PARAM_NAME);
+        final Variable param = new Variable(ElementUtils.asMemberOf(element, target, procEnv), BeelderConstants.SETTER_METHOD_PARAM_NAME);
         method.addModifier(PUBLIC);
         method.setReturnType(clazz.getKey());
         method.addParameter(param);
         method.addLine(StatementBuilder.createAssignment("this." + BeelderConstants.BUILDABLE_OBJECT_NAME, fieldName, param.getKey()));
         method.addReturnStatement("this");
+
+        final Block block = new Block(fieldName, method);
+        block.setReadExpression("%s." + fieldName);
+        clazz.addBuildingBlock(block);
     }
 
-    private Element lookForSetterMethod(final Element element, final String methodName) {
-        return element.getEnclosedElements().stream()
-                .filter(e -> e.getSimpleName().contentEquals(methodName))
+    /**
+     * Looks up a getter method of the given block accessible from the builder of the target class,
+     * returning a value assignable to the block.
+     *
+     * @return The getter method, null if not found
+     */
+    private Element lookForGetterMethod(final TypeElement target, final String blockName, final TypeMirror blockType,
+                                        final ProcessingEnvironment procEnv) {
+        final List<String> getterNames = List.of(ElementUtils.getterMethodsFrom(blockName));
+        return procEnv.getElementUtils().getAllMembers(target).stream()
+                .filter(e -> ElementKind.METHOD.equals(e.getKind()) && getterNames.contains(ElementUtils.getElementNameSimple(e)))
+                .map(ExecutableElement.class::cast)
+                .filter(m -> m.getParameters().isEmpty() && !m.getModifiers().contains(STATIC))
+                .filter(m -> ElementUtils.isAccessibleFromBuilder(m, target, procEnv))
+                .filter(m -> procEnv.getTypeUtils().isAssignable(
+                        ((ExecutableType) ElementUtils.asMemberOf(m, target, procEnv)).getReturnType(), blockType))
                 .findFirst().orElse(null);
     }
+
+    /**
+     * Looks up a setter method with the given name accessible from the builder of the target class,
+     * declared in the target class or inherited from one of its superclasses, taking a single
+     * parameter the given field type is assignable to. Setters taking exactly the field type are
+     * preferred over overloads taking a supertype.
+     *
+     * @return The setter method, null if not found
+     */
+    private Element lookForSetterMethod(final TypeElement target, final String methodName, final TypeMirror fieldType,
+                                        final ProcessingEnvironment procEnv) {
+        final List<Element> setters = procEnv.getElementUtils().getAllMembers(target).stream()
+                .filter(e -> ElementKind.METHOD.equals(e.getKind()) && e.getSimpleName().contentEquals(methodName))
+                .filter(e -> ElementUtils.isAccessibleFromBuilder(e, target, procEnv))
+                .filter(e -> {
+                    final TypeMirror paramType = singleParameterTypeOf(e, target, procEnv);
+                    return Objects.nonNull(paramType) && procEnv.getTypeUtils().isAssignable(fieldType, paramType);
+                })
+                .collect(Collectors.toList());
+
+        return setters.stream()
+                .filter(e -> procEnv.getTypeUtils().isSameType(fieldType, singleParameterTypeOf(e, target, procEnv)))
+                .findFirst().orElse(setters.isEmpty() ? null : setters.get(0));
+    }
+
+    /**
+     * @return The type of the only parameter of the given method as member of the target class, null if
+     * the method takes several parameters
+     */
+    private TypeMirror singleParameterTypeOf(final Element method, final TypeElement target, final ProcessingEnvironment procEnv) {
+        final List<? extends TypeMirror> parameterTypes = ((ExecutableType) ElementUtils.asMemberOf(method, target, procEnv)).getParameterTypes();
+        return parameterTypes.size() == 1 ? parameterTypes.get(0) : null;
+    }
 }
@@ -5,24 +5,55 @@ import com.beelder.processor.classbuilder.entities.Clazz;
 import com.beelder.processor.classbuilder.entities.Method;
 import com.beelder.processor.classbuilder.entities.Variable;
 import com.beelder.processor.constants.BeelderConstants;
+import com.beelder.processor.generator.AsyncBlockGenerator;
+import com.beelder.processor.generator.CanonicalCacheGenerator;
+import com.beelder.processor.generator.ConcurrentBuilderGenerator;
+import com.beelder.processor.generator.DefaultValueGenerator;
+import com.beelder.processor.generator.DelimitedParserGenerator;
+import com.beelder.processor.generator.IClazzGenerator;
+import com.beelder.processor.generator.MapPopulatorGenerator;
+import com.beelder.processor.generator.MergeFromGenerator;
+import com.beelder.processor.generator.RegistryGenerator;
+import com.beelder.processor.generator.SparseBuilderGenerator;
+import com.beelder.processor.utils.ElementUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 public final class ClazzBuildingHandler implements IAnnotationHandler {
     private static final Logger LOG = LoggerFactory.getLogger(ClazzBuildingHandler.class);
 
     private final AtomicBoolean handleOnce = new AtomicBoolean(true);
 
+    private final List<IClazzGenerator> generators = new ArrayList<>();
+
+    {
+        generators.add(new MapPopulatorGenerator());
+        generators.add(new DelimitedParserGenerator());
+        generators.add(new DefaultValueGenerator());
+        generators.add(new CanonicalCacheGenerator());
+        generators.add(new AsyncBlockGenerator());
+        generators.add(new MergeFromGenerator());
+        generators.add(new ConcurrentBuilderGenerator());
+        generators.add(new SparseBuilderGenerator());
+    }
+
     @Override
     public boolean canHandle(TypeElement annotation) {
         return handleOnce.getAndSet(false);
@@ -31,17 +62,37 @@ public final class ClazzBuildingHandler implements IAnnotationHandler {
     @Override
     public void handleAnnotation(TypeElement annotation, RoundEnvironment roundEnvironment, ProcessingEnvironment processingEnvironment) {
         LOG.info("Building class-builder source files...");
-        ClazzBuilder.fetchAllClazzes().stream()
-                .peek(this::addBuildMethodTo)
-                .forEach(c -> writeClazzToSourceFile(c, processingEnvironment));
+        final Set<Clazz> builders = ClazzBuilder.fetchAllClazzes();
+        builders.forEach(c -> {
+            generateMembersFor(c, processingEnvironment);
+            addBuildMethodTo(c);
+        });
+
+        LOG.info("Building builder registry source files...");
+        final List<Clazz> generated = new ArrayList<>(builders);
+        generated.addAll(new RegistryGenerator().generateRegistries(builders, processingEnvironment));
+        generated.forEach(c -> {
+            reserveNamesFor(c, generated, processingEnvironment);
+            writeClazzToSourceFile(c, processingEnvironment);
+        });
+        ClazzBuilder.clear();
         LOG.info("Successfully built builder classes!");
     }
 
     /**
-     * Adds the building method to the given clazz object.
+     * Lets all generators capable of it generate their members into the given clazz object.
+     */
+    private void generateMembersFor(final Clazz clazz, final ProcessingEnvironment procEnv) {
+        generators.stream()
+                .filter(gen -> gen.canGenerate(clazz))
+                .forEach(gen -> gen.generate(clazz, procEnv));
+    }
+
+    /**
+     * Adds the building method to the given clazz object. Generators may add lines to the
+     * building method beforehand, or complete it with their own return statement.
      */
     private void addBuildMethodTo(final Clazz clazz) {
-        final Method method = clazz.fetchMethod(BeelderConstants.BUILD_METHOD_NAME);
         final Variable builds = clazz.getVariables().stream()
                 .filter(var -> BeelderConstants.BUILDABLE_OBJECT_NAME.equals(var.getKey()))
                 .findFirst().orElse(null);
@@ -50,16 +101,36 @@ public final class ClazzBuildingHandler implements IAnnotationHandler {
             return;
         }
 
+        final Method method = clazz.fetchMethod(BeelderConstants.BUILD_METHOD_NAME);
         method.setReturnType(builds.getType());
         method.addModifier(Modifier.PUBLIC);
         method.addReturnStatement("this." + builds.getKey());
     }
 
+    /**
+     * Reserves the names of all types declared or generated in the package of the given clazz object,
+     * as importing types with the same simple name would shadow them.
+     */
+    private void reserveNamesFor(final Clazz clazz, final Collection<Clazz> generated, final ProcessingEnvironment procEnv) {
+        final PackageElement packageElement = Objects.isNull(clazz.getPackageIdent()) ? null :
+                procEnv.getElementUtils().getPackageElement(clazz.getPackageIdent());
+        if(Objects.nonNull(packageElement)) {
+            clazz.addReservedNames(packageElement.getEnclosedElements().stream()
+                    .map(ElementUtils::getElementNameSimple)
+                    .collect(Collectors.toList()));
+        }
+
+        clazz.addReservedNames(generated.stream()
+                .filter(c -> Objects.equals(clazz.getPackageIdent(), c.getPackageIdent()))
+                .map(Clazz::getKey)
+                .collect(Collectors.toList()));
+    }
+
     /**
      * Tries to write the string representation of the given class to a new source file.
      */
     private void writeClazzToSourceFile(final Clazz clazz, final ProcessingEnvironment procEnv) {
-        final JavaFileObject builderClass = createSourceFile(clazz.getKey(), procEnv);
+        final JavaFileObject builderClass = createSourceFile(clazz, procEnv);
         if(Objects.isNull(builderClass)) {
             return;
         }
@@ -73,13 +144,23 @@ public final class ClazzBuildingHandler implements IAnnotationHandler {
     }
 
     /**
-     * @return A new source file for the given name, null if it couldn't be created
+     * Reports an error if the source file can't be created, e.g. as another compilation or type
+     * already declares the same class.
+     *
+     * @return A new source file for the given clazz object, null if it couldn't be created
      */
-    private JavaFileObject createSourceFile(final String name, final ProcessingEnvironment procEnv) {
+    private JavaFileObject createSourceFile(final Clazz clazz, final ProcessingEnvironment procEnv) {
+        final String name = clazz.getQualifiedName();
         try {
             return procEnv.getFiler().createSourceFile(name);
         } catch (IOException e) {
             LOG.error("Could not write new source file [{}] to generated output!", name, e);
+            final String message = String.format("Could not generate %s: %s", name, e.getMessage());
+            if(Objects.isNull(clazz.getSourceElement())) {
+                procEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message);
+            } else {
+                procEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, clazz.getSourceElement());
+            }
             return null;
         }
     }
@@ -0,0 +1,232 @@
+package com.beelder.processor.handler;
+
+import com.beelder.annotations.buildingblock.BuildingBlock;
+import com.beelder.annotations.buildingblock.ErrorOperation;
+import com.beelder.annotations.buildingblock.Max;
+import com.beelder.annotations.buildingblock.Min;
+import com.beelder.annotations.buildingblock.Pattern;
+import com.beelder.annotations.buildingblock.Size;
+import com.beelder.processor.classbuilder.ClazzBuilder;
+import com.beelder.processor.classbuilder.entities.Clazz;
+import com.beelder.processor.classbuilder.entities.Method;
+import com.beelder.processor.classbuilder.entities.StatementBuilder;
+import com.beelder.processor.utils.BeelderUtils;
+import com.beelder.processor.utils.ElementUtils;
+import com.beelder.runtime.NullPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.PatternSyntaxException;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Compiles the constraints {@link Min}, {@link Max}, {@link Size} and {@link Pattern} into checks prepended
+ * to the setters of the annotated building blocks. Violations are dispatched to {@link NullPolicy}, just
+ * like null arguments of non-null building blocks.
+ */
+public final class ConstraintHandler implements IAnnotationHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(ConstraintHandler.class);
+
+    private static final Set<String> CONSTRAINTS = Set.of(Min.QUALIFIED_NAME, Max.QUALIFIED_NAME, Size.QUALIFIED_NAME, Pattern.QUALIFIED_NAME);
+    private static final Set<TypeKind> NUMERIC_KINDS = Set.of(TypeKind.BYTE, TypeKind.SHORT, TypeKind.INT, TypeKind.LONG, TypeKind.FLOAT, TypeKind.DOUBLE);
+    private static final String PATTERN_SUFFIX = "Pattern";
+
+    @Override
+    public boolean canHandle(TypeElement annotation) {
+        return CONSTRAINTS.contains(annotation.getQualifiedName().toString());
+    }
+
+    @Override
+    public void handleAnnotation(TypeElement annotation, RoundEnvironment roundEnvironment, ProcessingEnvironment processingEnvironment) {
+        final String annotName = annotation.getSimpleName().toString();
+        roundEnvironment.getElementsAnnotatedWith(annotation).forEach(e -> {
+            if(!checkAnnotatedField(e, annotName, processingEnvironment)) {
+                return;
+            }
+
+            BeelderUtils.findBuildableTargets(e, roundEnvironment, processingEnvironment)
+                    .forEach(target -> handleAnnotatedElement(e, annotName, target, processingEnvironment));
+        });
+    }
+
+    /**
+     * Checks if the given element is a building block of a type supported by the given constraint,
+     * throws a compiler error otherwise.
+     */
+    private boolean checkAnnotatedField(final Element element, final String annotName, final ProcessingEnvironment procEnv) {
+        if(Objects.isNull(element.getAnnotation(BuildingBlock.class))) {
+            LOG.error("Element {} is annotated with {}, but not with {}, throwing compiler error!",
+                    element, annotName, BuildingBlock.SIMPLE_NAME);
+            BeelderUtils.messageElementAnnotatedWith(
+                    procEnv, Diagnostic.Kind.ERROR, annotName, "but not with @" + BuildingBlock.SIMPLE_NAME, element);
+            return false;
+        }
+
+        final boolean supported;
+        switch (annotName) {
+            case Min.SIMPLE_NAME:
+            case Max.SIMPLE_NAME:
+                supported = isNumeric(element.asType(), procEnv);
+                break;
+            case Size.SIMPLE_NAME:
+                supported = Objects.nonNull(sizeOf(element.asType(), "", procEnv));
+                break;
+            default:
+                supported = isSubtypeOf(element.asType(), CharSequence.class.getName(), procEnv);
+                break;
+        }
+
+        if(!supported) {
+            LOG.error("Element {} is annotated with {}, but its type is not supported!", element, annotName);
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, annotName,
+                    "but the constraint cannot be checked for values of type " + element.asType(), element);
+            return false;
+        }
+
+        return !Pattern.SIMPLE_NAME.equals(annotName) || isValidPattern(element, procEnv);
+    }
+
+    private boolean isValidPattern(final Element element, final ProcessingEnvironment procEnv) {
+        try {
+            java.util.regex.Pattern.compile(element.getAnnotation(Pattern.class).regexp());
+            return true;
+        } catch (PatternSyntaxException e) {
+            LOG.error("Element {} is annotated with an invalid pattern!", element, e);
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, Pattern.SIMPLE_NAME,
+                    "but the regular expression is invalid: " + e.getDescription(), element);
+            return false;
+        }
+    }
+
+    /**
+     * Prepends the check of the given constraint to the setter of the given element in the builder
+     * of the target class.
+     */
+    private void handleAnnotatedElement(final Element element, final String annotName, final TypeElement target,
+                                        final ProcessingEnvironment procEnv) {
+        final Clazz clazz = ClazzBuilder.getRootForName(ElementUtils.getBuilderNameFor(target));
+        final Method theSetter = clazz.fetchMethod(ElementUtils.setterMethodFrom(element));
+        final String param = theSetter.getParameters().get(0).getKey();
+        final String guard = element.asType().getKind().isPrimitive() ? "" : param + " != null && ";
+
+        final String condition;
+        final String message;
+        final ErrorOperation operation;
+        switch (annotName) {
+            case Min.SIMPLE_NAME:
+                final Min min = element.getAnnotation(Min.class);
+                condition = String.format("%s%s < %dL", guard, param, min.value());
+                message = min.message();
+                operation = min.operation();
+                break;
+            case Max.SIMPLE_NAME:
+                final Max max = element.getAnnotation(Max.class);
+                condition = String.format("%s%s > %dL", guard, param, max.value());
+                message = max.message();
+                operation = max.operation();
+                break;
+            case Size.SIMPLE_NAME:
+                final Size size = element.getAnnotation(Size.class);
+                final String sizeCondition = sizeCondition(sizeOf(element.asType(), param, procEnv), size);
+                if(Objects.isNull(sizeCondition)) {
+                    return;
+                }
+                condition = guard + sizeCondition;
+                message = size.message();
+                operation = size.operation();
+                break;
+            default:
+                final Pattern pattern = element.getAnnotation(Pattern.class);
+                final String constant = BeelderUtils.toConstantName(ElementUtils.getElementNameSimple(element) + PATTERN_SUFFIX);
+                clazz.addVariable(java.util.regex.Pattern.class.getName(), constant, String.format("%s.compile(%s)",
+                        java.util.regex.Pattern.class.getName(), procEnv.getElementUtils().getConstantExpression(pattern.regexp())),
+                        PRIVATE, STATIC, FINAL);
+                condition = String.format("%s!%s.matcher(%s).matches()", guard, constant, param);
+                message = pattern.message();
+                operation = pattern.operation();
+                break;
+        }
+
+        final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(condition);
+        if(ErrorOperation.NO_OP.equals(operation)) {
+            ifBlock.addLine("return this;");
+        } else {
+            ifBlock.addLine(String.format("return %s.reject(this, %s.%s, %s);", NullPolicy.class.getName(),
+                    NullPolicy.class.getName(), operation.name(), procEnv.getElementUtils().getConstantExpression(message)));
+        }
+
+        theSetter.prependLine(ifBlock.build(2));
+    }
+
+    /**
+     * @return Condition checking the given size against the bounds of the constraint, omitting bounds every size
+     * satisfies, null if there are no bounds left
+     */
+    private static String sizeCondition(final String sizeOf, final Size size) {
+        final List<String> conditions = new ArrayList<>();
+        if(size.min() > 0) {
+            conditions.add(String.format("%s < %d", sizeOf, size.min()));
+        }
+        if(size.max() < Integer.MAX_VALUE) {
+            conditions.add(String.format("%s > %d", sizeOf, size.max()));
+        }
+
+        if(conditions.isEmpty()) {
+            return null;
+        }
+
+        return conditions.size() == 1 ? conditions.get(0) : "(" + String.join(" || ", conditions) + ")";
+    }
+
+    /**
+     * @return True if the given type is a numeric primitive or its wrapper, false otherwise
+     */
+    private static boolean isNumeric(final TypeMirror type, final ProcessingEnvironment procEnv) {
+        if(type.getKind().isPrimitive()) {
+            return NUMERIC_KINDS.contains(type.getKind());
+        }
+
+        try {
+            return NUMERIC_KINDS.contains(procEnv.getTypeUtils().unboxedType(type).getKind());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Expression reading the size of the given value, null if values of the given type have no size
+     */
+    private static String sizeOf(final TypeMirror type, final String value, final ProcessingEnvironment procEnv) {
+        if(TypeKind.ARRAY.equals(type.getKind())) {
+            return value + ".length";
+        }
+        if(isSubtypeOf(type, CharSequence.class.getName(), procEnv)) {
+            return value + ".length()";
+        }
+        if(isSubtypeOf(type, java.util.Collection.class.getName(), procEnv) || isSubtypeOf(type, java.util.Map.class.getName(), procEnv)) {
+            return value + ".size()";
+        }
+
+        return null;
+    }
+
+    private static boolean isSubtypeOf(final TypeMirror type, final String superType, final ProcessingEnvironment procEnv) {
+        final TypeElement superElement = procEnv.getElementUtils().getTypeElement(superType);
+        return TypeKind.DECLARED.equals(type.getKind()) && Objects.nonNull(superElement) && procEnv.getTypeUtils()
+                .isSubtype(procEnv.getTypeUtils().erasure(type), procEnv.getTypeUtils().erasure(superElement.asType()));
+    }
+}
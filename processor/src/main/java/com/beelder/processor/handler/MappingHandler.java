@@ -0,0 +1,223 @@
+package com.beelder.processor.handler;
+
+import com.beelder.annotations.Buildable;
+import com.beelder.annotations.MapsTo;
+import com.beelder.processor.classbuilder.ClazzBuilder;
+import com.beelder.processor.classbuilder.entities.Block;
+import com.beelder.processor.classbuilder.entities.Clazz;
+import com.beelder.processor.classbuilder.entities.Method;
+import com.beelder.processor.classbuilder.entities.StatementBuilder;
+import com.beelder.processor.classbuilder.entities.Variable;
+import com.beelder.processor.constants.BeelderConstants;
+import com.beelder.processor.utils.BeelderUtils;
+import com.beelder.processor.utils.ElementUtils;
+import com.beelder.processor.utils.TypeRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Generates mapper classes for classes annotated with {@link MapsTo}, setting each building block
+ * of the target from the equally named field or getter of the source in straight-line code.
+ */
+public final class MappingHandler implements IAnnotationHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(MappingHandler.class);
+
+    private static final String SOURCE_PARAM = "source";
+    private static final String BUILDER_VAR = "builder";
+
+    @Override
+    public boolean canHandle(TypeElement annotation) {
+        return annotation.getQualifiedName().contentEquals(MapsTo.QUALIFIED_NAME);
+    }
+
+    @Override
+    public void handleAnnotation(TypeElement annotation, RoundEnvironment roundEnvironment, ProcessingEnvironment processingEnvironment) {
+        LOG.info("Handling annotation {}...", annotation.getSimpleName());
+        roundEnvironment.getElementsAnnotatedWith(annotation).stream()
+                .map(TypeElement.class::cast)
+                .forEach(source -> fetchTargets(source, processingEnvironment)
+                        .forEach(target -> handleMapping(source, target, processingEnvironment)));
+        LOG.info("Successfully handled annotation {}!", annotation.getSimpleName());
+    }
+
+    /**
+     * Reads the classes to map to from the annotation mirror, as accessing the class values of
+     * {@link MapsTo} directly is not possible during annotation processing.
+     */
+    private List<TypeElement> fetchTargets(final TypeElement source, final ProcessingEnvironment procEnv) {
+        final AnnotationMirror mirror = source.getAnnotationMirrors().stream()
+                .filter(m -> ((TypeElement) m.getAnnotationType().asElement()).getQualifiedName().contentEquals(MapsTo.QUALIFIED_NAME))
+                .findFirst().orElse(null);
+        if(Objects.isNull(mirror)) {
+            return Collections.emptyList();
+        }
+
+        return mirror.getElementValues().entrySet().stream()
+                .filter(e -> e.getKey().getSimpleName().contentEquals("value"))
+                .flatMap(e -> ((List<?>) e.getValue().getValue()).stream())
+                .map(value -> (TypeMirror) ((AnnotationValue) value).getValue())
+                .map(type -> (TypeElement) procEnv.getTypeUtils().asElement(type))
+                .collect(Collectors.toList());
+    }
+
+    private void handleMapping(final TypeElement source, final TypeElement target, final ProcessingEnvironment procEnv) {
+        LOG.debug("Generating mapper from {} to {}...", source, target);
+        final Clazz builder = fetchBuilderFor(target);
+        if(!checkTarget(source, target, builder, procEnv)) {
+            return;
+        }
+
+        final Clazz mapper = ClazzBuilder.getRootForName(ElementUtils.getElementNameSimple(source) + "To"
+                + ElementUtils.getElementNameSimple(target) + BeelderConstants.MAPPER_CLASS_SUFFIX);
+        mapper.setPackageIdent(procEnv.getElementUtils().getPackageOf(source).getQualifiedName().toString());
+        mapper.addModifiers(PUBLIC, FINAL);
+
+        final Method constructor = new Method("");
+        constructor.addModifier(PRIVATE);
+        constructor.setReturnType(mapper.getKey());
+        constructor.addLine("// Static mapper");
+        mapper.addConstructor(constructor);
+
+        final Method method = mapper.fetchMethod(BeelderConstants.MAP_METHOD_NAME);
+        method.addModifiers(PUBLIC, STATIC);
+        method.setReturnType(ElementUtils.getElementNameQualified(target));
+        method.addParameter(new Variable(wildcardTypeOf(source, procEnv), SOURCE_PARAM));
+
+        final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(SOURCE_PARAM + " == null");
+        ifBlock.addLine("return null;");
+        method.addLine(ifBlock.build(2));
+        method.addLine(String.format("final %s %s = new %s();", builder.getQualifiedName(), BUILDER_VAR, builder.getQualifiedName()));
+        builder.getBuildingBlocks().forEach(block -> addBlockMapping(method, source, target, block, procEnv));
+        method.addReturnStatement(BUILDER_VAR + "." + BeelderConstants.BUILD_METHOD_NAME + "()");
+    }
+
+    /**
+     * @return The type of the given source with wildcards for all its type parameters, as the static map
+     * method cannot refer to them. Wildcards keep the bounds of the type parameters, so properties read
+     * from the source are still assignable to blocks their type parameter is assignable to.
+     */
+    private static TypeMirror wildcardTypeOf(final TypeElement source, final ProcessingEnvironment procEnv) {
+        final TypeMirror[] wildcards = source.getTypeParameters().stream()
+                .map(param -> procEnv.getTypeUtils().getWildcardType(null, null))
+                .toArray(TypeMirror[]::new);
+        return procEnv.getTypeUtils().getDeclaredType(source, wildcards);
+    }
+
+    /**
+     * @return The builder generated for the given class in this round, null if there is none
+     */
+    private Clazz fetchBuilderFor(final TypeElement target) {
+        final String builderName = ElementUtils.getBuilderNameFor(target);
+        return ClazzBuilder.fetchAllClazzes().stream()
+                .filter(c -> builderName.equals(c.getKey()) && target.equals(c.getSourceElement()))
+                .findFirst().orElse(null);
+    }
+
+    /**
+     * Checks if the target has a builder, which can be created by the mapper, throws compiler errors otherwise.
+     */
+    private boolean checkTarget(final TypeElement source, final TypeElement target, final Clazz builder, final ProcessingEnvironment procEnv) {
+        if(Objects.isNull(target.getAnnotation(Buildable.class)) || Objects.isNull(builder)) {
+            LOG.error("Mapping target {} of {} has no generated builder!", target, source);
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, MapsTo.SIMPLE_NAME,
+                    "but mapping target " + target + " is not annotated with @" + Buildable.SIMPLE_NAME, source);
+            return false;
+        }
+
+        if(!builder.hasDefaultConstructor()) {
+            LOG.error("Builder of mapping target {} has no default constructor!", target);
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, MapsTo.SIMPLE_NAME,
+                    "but the builder of mapping target " + target + " has no default constructor", source);
+            return false;
+        }
+
+        final boolean samePackage = procEnv.getElementUtils().getPackageOf(source).equals(procEnv.getElementUtils().getPackageOf(target));
+        if(!samePackage && !builder.getModifiers().contains(PUBLIC)) {
+            LOG.error("Builder of mapping target {} is not accessible from {}!", target, source);
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, MapsTo.SIMPLE_NAME,
+                    "but the builder of mapping target " + target + " is not public", source);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds the line setting the given block from the equally named property of the source. Throws a compiler
+     * warning if there is no such property and a compiler error if its type does not match the block.
+     */
+    private void addBlockMapping(final Method method, final TypeElement source, final TypeElement target, final Block block,
+                                 final ProcessingEnvironment procEnv) {
+        final Element property = lookForProperty(source, block.getName(), procEnv);
+        if(!block.isSingleValued() || Objects.isNull(property)) {
+            LOG.warn("Building block {} of {} cannot be mapped from {}!", block.getName(), target, source);
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.WARNING, MapsTo.SIMPLE_NAME,
+                    "but building block " + block.getName() + " of " + target + " has no equally named field or getter, it will not be mapped", source);
+            return;
+        }
+
+        final TypeMirror memberType = procEnv.getTypeUtils().asMemberOf((DeclaredType) source.asType(), property);
+        final TypeMirror propertyType = ElementKind.FIELD.equals(property.getKind()) ? memberType : ((ExecutableType) memberType).getReturnType();
+        final TypeMirror blockType = block.getSetter().getParameters().get(0).getTypeMirror();
+        if(Objects.nonNull(blockType) && !procEnv.getTypeUtils().isAssignable(propertyType, blockType)) {
+            LOG.error("Property {} of {} does not match building block of {}!", property, source, target);
+            BeelderUtils.messageElementAnnotatedWith(procEnv, Diagnostic.Kind.ERROR, MapsTo.SIMPLE_NAME, String.format(
+                    "but %s of type %s cannot be assigned to building block %s of %s of type %s", property,
+                    TypeRenderer.render(propertyType), block.getName(), target, TypeRenderer.render(blockType)), source);
+            return;
+        }
+
+        final String read = ElementKind.FIELD.equals(property.getKind()) ?
+                SOURCE_PARAM + "." + ElementUtils.getElementNameSimple(property) :
+                SOURCE_PARAM + "." + ElementUtils.getElementNameSimple(property) + "()";
+        method.addLine(StatementBuilder.createMethodCall(BUILDER_VAR, block.getSetter().getKey(), read));
+    }
+
+    /**
+     * Looks up a getter or, if there is none, a field of the given name accessible from the mapper,
+     * declared in the source or one of its superclasses.
+     *
+     * @return The getter or field, null if not found
+     */
+    private Element lookForProperty(final TypeElement source, final String name, final ProcessingEnvironment procEnv) {
+        final List<String> getterNames = List.of(ElementUtils.getterMethodsFrom(name));
+        final List<? extends Element> members = procEnv.getElementUtils().getAllMembers(source).stream()
+                .filter(e -> !e.getModifiers().contains(STATIC))
+                .filter(e -> ElementUtils.isAccessibleFromBuilder(e, source, procEnv))
+                .collect(Collectors.toList());
+
+        final Element getter = members.stream()
+                .filter(e -> ElementKind.METHOD.equals(e.getKind()) && getterNames.contains(ElementUtils.getElementNameSimple(e)))
+                .filter(e -> ((ExecutableElement) e).getParameters().isEmpty())
+                .findFirst().orElse(null);
+        if(Objects.nonNull(getter)) {
+            return getter;
+        }
+
+        return members.stream()
+                .filter(e -> ElementKind.FIELD.equals(e.getKind()) && e.getSimpleName().contentEquals(name))
+                .findFirst().orElse(null);
+    }
+}
@@ -1,15 +1,16 @@
 package com.beelder.processor.handler;
 
 import com.beelder.annotations.buildingblock.BuildingBlock;
+import com.beelder.annotations.buildingblock.ErrorOperation;
 import com.beelder.annotations.buildingblock.NonNull;
 import com.beelder.processor.classbuilder.ClazzBuilder;
 import com.beelder.processor.classbuilder.entities.Clazz;
 import com.beelder.processor.classbuilder.entities.Method;
 import com.beelder.processor.classbuilder.entities.StatementBuilder;
 import com.beelder.processor.classbuilder.entities.Variable;
-import com.beelder.processor.constants.BeelderConstants;
 import com.beelder.processor.utils.BeelderUtils;
 import com.beelder.processor.utils.ElementUtils;
+import com.beelder.runtime.NullPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,7 +18,6 @@ import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
-import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 import java.util.Objects;
@@ -36,7 +36,8 @@ public final class NonNullHandler implements IAnnotationHandler {
         roundEnvironment.getElementsAnnotatedWith(annotation).forEach(e -> {
             checkAnnotatedField(e, processingEnvironment);
 
-            handleAnnotatedElement(e);
+            BeelderUtils.findBuildableTargets(e, roundEnvironment, processingEnvironment)
+                    .forEach(target -> handleAnnotatedElement(e, target, BeelderUtils.isJitFriendly(target)));
         });
     }
 
@@ -49,16 +50,20 @@ public final class NonNullHandler implements IAnnotationHandler {
         }
     }
 
-    private void handleAnnotatedElement(final Element element) {
-        final Clazz clazz = ClazzBuilder.getRootForName(ElementUtils.getBuilderNameFor(element));
+    /**
+     * Prepends a null check to the setter of the given element in the builder of the target class,
+     * jit friendly builders use plain comparisons to keep the setter small.
+     */
+    private void handleAnnotatedElement(final Element element, final TypeElement target, final boolean jitFriendly) {
+        final Clazz clazz = ClazzBuilder.getRootForName(ElementUtils.getBuilderNameFor(target));
         final Method theSetter =
                 ElementKind.FIELD.equals(element.getKind()) ?
                         clazz.fetchMethod(ElementUtils.setterMethodFrom(element)) :
                         clazz.fetchMethod(ElementUtils.getElementNameSimple(element));
         final String condition = theSetter.getParameters().stream()
-                .filter(var -> !BeelderConstants.PRIMITIVE_TYPES.contains(var.getType()))
+                .filter(var -> !var.isPrimitive())
                 .map(Variable::getKey)
-                .map(k -> "java.util.Objects.isNull(" + k + ")")
+                .map(k -> jitFriendly ? k + " == null" : "java.util.Objects.isNull(" + k + ")")
                 .collect(Collectors.joining(" || "));
 
         if(condition.isEmpty()) {
@@ -68,22 +73,10 @@ public final class NonNullHandler implements IAnnotationHandler {
         final StatementBuilder.IfBlock ifBlock = StatementBuilder.createIfBlock(condition);
 
         final NonNull theAnnot = element.getAnnotation(NonNull.class);
-        switch (theAnnot.operation()) {
-            case NO_OP:
-                handleNoOp(ifBlock);
-                break;
-            case THROW_EXC:
-                handleThrowException(ifBlock, theAnnot.message());
-                break;
-            case PRINT_TO_ERR:
-                handlePrintTo(ifBlock, "err", theAnnot.message());
-                break;
-            case PRINT_TO_STDOUT:
-                handlePrintTo(ifBlock, "out", theAnnot.message());
-                break;
-            case LOG_EXC:
-                handleLogException(clazz, ifBlock, theAnnot.message());
-                break;
+        if(ErrorOperation.NO_OP.equals(theAnnot.operation())) {
+            handleNoOp(ifBlock);
+        } else {
+            handleReject(ifBlock, theAnnot.operation(), theAnnot.message());
         }
 
         theSetter.prependLine(ifBlock.build(2));
@@ -93,22 +86,11 @@ public final class NonNullHandler implements IAnnotationHandler {
         theIf.addLine("return this;");
     }
 
-    private void handleThrowException(final StatementBuilder.IfBlock theIf, final String message) {
-        theIf.addLine(StatementBuilder.createExceptionThrowing(IllegalArgumentException.class, message));
-    }
-
-    private void handlePrintTo(final StatementBuilder.IfBlock theIf, final String stream, final String message) {
-        theIf.addLine(String.format("System.%s.println(\"%s\");", stream, message));
-        theIf.addLine("return this;");
-    }
-
-    private void handleLogException(final Clazz builder, final StatementBuilder.IfBlock theIf, final String message) {
-        final String loggerCreationStr = String.format("org.slf4j.LoggerFactory.getLogger(%s.class)", builder.getKey());
-        final Variable logVar = new Variable("org.slf4j.Logger", "LOG", loggerCreationStr);
-        logVar.addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL);
-
-        builder.addVariable(logVar);
-        theIf.addLine(String.format("LOG.error(\"%s\");", message));
-        theIf.addLine("return this;");
+    /**
+     * Dispatches the given operation to {@link NullPolicy}, shared by all generated builders.
+     */
+    private void handleReject(final StatementBuilder.IfBlock theIf, final ErrorOperation operation, final String message) {
+        theIf.addLine(String.format("return %s.reject(this, %s.%s, \"%s\");",
+                NullPolicy.class.getName(), NullPolicy.class.getName(), operation.name(), message));
     }
 }
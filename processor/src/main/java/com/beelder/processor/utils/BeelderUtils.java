@@ -1,17 +1,24 @@
 package com.beelder.processor.utils;
 
 import com.beelder.annotations.Buildable;
+import com.beelder.annotations.CodegenProfile;
 import com.beelder.processor.constants.BeelderConstants;
 
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
 import javax.tools.Diagnostic;
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
+import java.util.stream.Collectors;
 
 public final class BeelderUtils {
     private BeelderUtils() {
@@ -52,6 +59,26 @@ public final class BeelderUtils {
         return modifier.name().toLowerCase(Locale.ROOT);
     }
 
+    /**
+     * Turns the given camel case name into the name of a constant, e.g.
+     * toConstantName("someField") = "SOME_FIELD".
+     *
+     * @param name The camel case name
+     * @return The name in upper snake case
+     */
+    public static String toConstantName(final String name) {
+        final StringBuilder constant = new StringBuilder(name.length() + 4);
+        for(int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if(i > 0 && Character.isUpperCase(c) && !Character.isUpperCase(name.charAt(i - 1))) {
+                constant.append('_');
+            }
+            constant.append(Character.toUpperCase(c));
+        }
+
+        return constant.toString();
+    }
+
     /**
      * Prints a compiler message to the given processing environment, using {@link BeelderConstants#MESSAGE_IN_PROC_ENV_BASE}.
      *
@@ -82,4 +109,48 @@ public final class BeelderUtils {
 
         return element.getEnclosingElement().getAnnotation(annot);
     }
+
+    /**
+     * @param clazz Class annotated with {@link Buildable}
+     * @return True if the builder of the given class is generated with {@link CodegenProfile#JIT_FRIENDLY}
+     */
+    public static boolean isJitFriendly(final Element clazz) {
+        return CodegenProfile.JIT_FRIENDLY.equals(fetchAnnotationForEnclosing(Buildable.class, clazz).profile());
+    }
+
+    /**
+     * @param clazz Class annotated with {@link Buildable}
+     * @return True if the builder of the given class is generated in concurrent mode
+     */
+    public static boolean isConcurrent(final Element clazz) {
+        return fetchAnnotationForEnclosing(Buildable.class, clazz).concurrent();
+    }
+
+    /**
+     * @param clazz Class annotated with {@link Buildable}
+     * @return True if the builder of the given class is generated with the sparse layout
+     */
+    public static boolean isSparse(final Element clazz) {
+        return fetchAnnotationForEnclosing(Buildable.class, clazz).sparse();
+    }
+
+    /**
+     * Finds all classes annotated with {@link Buildable} in the current round, the given field or
+     * method is a member of, i.e. its enclosing class and all subclasses of it.
+     *
+     * @param member The field or method
+     * @param roundEnv The current round environment
+     * @param procEnv The processing env
+     * @return All classes the member should be handled for, might be empty
+     */
+    public static List<TypeElement> findBuildableTargets(final Element member, final RoundEnvironment roundEnv, final ProcessingEnvironment procEnv) {
+        final Types types = procEnv.getTypeUtils();
+        final TypeMirror enclosing = types.erasure(member.getEnclosingElement().asType());
+
+        return roundEnv.getElementsAnnotatedWith(Buildable.class).stream()
+                .filter(e -> ElementKind.CLASS.equals(e.getKind()))
+                .filter(e -> types.isSubtype(types.erasure(e.asType()), enclosing))
+                .map(TypeElement.class::cast)
+                .collect(Collectors.toList());
+    }
 }
@@ -3,9 +3,14 @@ package com.beelder.processor.utils;
 import com.beelder.processor.constants.BeelderConstants;
 import org.apache.commons.lang3.StringUtils;
 
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
 
 public final class ElementUtils {
     private ElementUtils() {
@@ -23,11 +28,7 @@ public final class ElementUtils {
      * @return The type of the given element, if a method is given the return type
      */
     public static String getElementType(final Element element) {
-        if(!ElementKind.METHOD.equals(element.getKind())) {
-            return element.asType().toString().replaceAll("\\(|\\)|void", "");
-        }
-
-        return element.asType().toString().replaceAll("\\(.*\\)", "");
+        return TypeRenderer.render(element.asType());
     }
 
     /**
@@ -48,6 +49,35 @@ public final class ElementUtils {
         return element.getSimpleName().toString().concat(BeelderConstants.BUILDABLE_CLASS_SUFFIX);
     }
 
+    /**
+     * Checks if the given field or method can be accessed by the builder of the given class, which
+     * resides in the same package as the class.
+     *
+     * @param member The field or method, possibly inherited from a superclass
+     * @param clazz The class the builder is generated for
+     * @return True if the member is public, or neither public nor private but declared in the package of the class
+     */
+    public static boolean isAccessibleFromBuilder(final Element member, final Element clazz, final ProcessingEnvironment procEnv) {
+        if(member.getModifiers().contains(Modifier.PUBLIC)) {
+            return true;
+        }
+
+        return !member.getModifiers().contains(Modifier.PRIVATE) &&
+                procEnv.getElementUtils().getPackageOf(member).equals(procEnv.getElementUtils().getPackageOf(clazz));
+    }
+
+    /**
+     * Resolves the type of the given field or method as member of the given class, substituting the type
+     * arguments the class passes to the superclass declaring the member.
+     *
+     * @param member The field or method, possibly inherited from a generic superclass
+     * @param clazz The class the builder is generated for
+     * @return The type of the field, or the executable type of the method
+     */
+    public static TypeMirror asMemberOf(final Element member, final TypeElement clazz, final ProcessingEnvironment procEnv) {
+        return procEnv.getTypeUtils().asMemberOf((DeclaredType) clazz.asType(), member);
+    }
+
     /**
      * Casts the given element into an {@link ExecutableElement}.
      *
@@ -71,4 +101,31 @@ public final class ElementUtils {
     public static String setterMethodFrom(final Element element) {
         return "set" + StringUtils.capitalize(ElementUtils.getElementNameSimple(element));
     }
+
+    /**
+     * Generates the possible getter method names for a given building block name, e.g.
+     * getterMethodsFrom("field") = ["getField", "isField"].
+     *
+     * @return getter method names as strings
+     */
+    public static String[] getterMethodsFrom(final String blockName) {
+        final String capitalized = StringUtils.capitalize(blockName);
+        return new String[] {"get" + capitalized, "is" + capitalized};
+    }
+
+    /**
+     * Generates the building block name for a given setter method, e.g.
+     * blockNameFrom(setField) = "field". Methods not starting with "set"
+     * keep their name.
+     *
+     * @return building block name as a string
+     */
+    public static String blockNameFrom(final Element method) {
+        final String methodName = ElementUtils.getElementNameSimple(method);
+        if(methodName.length() > 3 && methodName.startsWith("set")) {
+            return StringUtils.uncapitalize(methodName.substring(3));
+        }
+
+        return methodName;
+    }
 }
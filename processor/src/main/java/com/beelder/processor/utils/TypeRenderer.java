@@ -0,0 +1,90 @@
+package com.beelder.processor.utils;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.NoType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.SimpleTypeVisitor9;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Renders type mirrors as source code, using qualified names of declared types without type
+ * annotations, e.g. "java.util.Map<java.lang.String, java.lang.Integer>". Executable types are
+ * rendered as their return type. The renderer holds no state, so its single instance can be
+ * shared by compilations running in the same JVM.
+ */
+public final class TypeRenderer extends SimpleTypeVisitor9<String, Void> {
+    private static final TypeRenderer instance = new TypeRenderer();
+
+    private TypeRenderer() {
+        // Singleton
+    }
+
+    /**
+     * @return The given type as source code
+     */
+    public static String render(final TypeMirror type) {
+        return type.accept(instance, null);
+    }
+
+    @Override
+    protected String defaultAction(final TypeMirror type, final Void unused) {
+        return type.toString();
+    }
+
+    @Override
+    public String visitPrimitive(final PrimitiveType type, final Void unused) {
+        return type.getKind().name().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String visitNoType(final NoType type, final Void unused) {
+        return "void";
+    }
+
+    @Override
+    public String visitArray(final ArrayType type, final Void unused) {
+        return render(type.getComponentType()) + "[]";
+    }
+
+    @Override
+    public String visitDeclared(final DeclaredType type, final Void unused) {
+        final String name = ((TypeElement) type.asElement()).getQualifiedName().toString();
+        if(type.getTypeArguments().isEmpty()) {
+            return name;
+        }
+
+        return type.getTypeArguments().stream()
+                .map(TypeRenderer::render)
+                .collect(Collectors.joining(", ", name + "<", ">"));
+    }
+
+    @Override
+    public String visitTypeVariable(final TypeVariable type, final Void unused) {
+        return type.asElement().getSimpleName().toString();
+    }
+
+    @Override
+    public String visitWildcard(final WildcardType type, final Void unused) {
+        if(Objects.nonNull(type.getExtendsBound())) {
+            return "? extends " + render(type.getExtendsBound());
+        }
+        if(Objects.nonNull(type.getSuperBound())) {
+            return "? super " + render(type.getSuperBound());
+        }
+
+        return "?";
+    }
+
+    @Override
+    public String visitExecutable(final ExecutableType type, final Void unused) {
+        return render(type.getReturnType());
+    }
+}
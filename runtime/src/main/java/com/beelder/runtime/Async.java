@@ -0,0 +1,27 @@
+package com.beelder.runtime;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Helpers for builders generated with asynchronous building blocks.
+ */
+public final class Async {
+    private Async() {
+        // Util class
+    }
+
+    /**
+     * Combines all pending futures of a builder, unset blocks are passed as null and ignored.
+     *
+     * @param pending The pending futures of all asynchronous building blocks
+     * @return Future completing when all non null futures have completed, exceptionally if
+     * any of them did
+     */
+    public static CompletableFuture<Void> allOf(final CompletableFuture<?>... pending) {
+        return CompletableFuture.allOf(Arrays.stream(pending)
+                .filter(Objects::nonNull)
+                .toArray(CompletableFuture<?>[]::new));
+    }
+}
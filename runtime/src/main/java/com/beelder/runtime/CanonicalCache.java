@@ -0,0 +1,98 @@
+package com.beelder.runtime;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, lock-free cache of canonical instances, used by builders of canonical classes. The
+ * cache is set-associative: the hash code of an instance selects a set of {@value #WAYS} slots,
+ * ordered from the most to the least recently used instance. A hit moves the instance to the
+ * front of its set, a miss inserts the candidate there and evicts the least recently used one.
+ * Concurrent updates of the same set may drop or duplicate an entry, which only costs hits.
+ *
+ * @param <T> The type of the cached instances, has to override equals and hashCode
+ */
+public final class CanonicalCache<T> {
+    private static final int WAYS = 4;
+
+    private final AtomicReferenceArray<T> slots;
+    private final int ways;
+    private final int setMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param size Number of slots, has to be a power of two
+     */
+    public CanonicalCache(final int size) {
+        if(size <= 0 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Cache size has to be a power of two: " + size);
+        }
+
+        this.slots = new AtomicReferenceArray<>(size);
+        this.ways = Math.min(WAYS, size);
+        this.setMask = size / this.ways - 1;
+    }
+
+    /**
+     * Looks up the canonical instance equal to the given candidate, the candidate itself is
+     * used as key, so no lookup key is allocated.
+     *
+     * @param candidate The freshly built instance
+     * @return The cached instance if equal to the candidate, the candidate otherwise
+     */
+    public T canonicalize(final T candidate) {
+        final int hash = candidate.hashCode();
+        final int first = ((hash ^ (hash >>> 16)) & this.setMask) * this.ways;
+        for(int way = 0; way < this.ways; way++) {
+            final T cached = this.slots.get(first + way);
+            if(cached == null) {
+                break;
+            }
+
+            if(cached.equals(candidate)) {
+                this.hits.increment();
+                if(way > 0) {
+                    moveToFront(first, way, cached);
+                }
+                return cached;
+            }
+        }
+
+        this.misses.increment();
+        if(moveToFront(first, this.ways - 1, candidate) != null) {
+            this.evictions.increment();
+        }
+
+        return candidate;
+    }
+
+    /**
+     * Shifts the slots of a set up to the given way back by one, and puts the given instance
+     * into the first slot of the set.
+     *
+     * @return The instance shifted out of the given way
+     */
+    private T moveToFront(final int first, final int way, final T instance) {
+        T shifted = instance;
+        for(int i = 0; i <= way && shifted != null; i++) {
+            shifted = this.slots.getAndSet(first + i, shifted);
+        }
+
+        return shifted;
+    }
+
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    public long evictions() {
+        return this.evictions.sum();
+    }
+}
@@ -0,0 +1,31 @@
+package com.beelder.runtime;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Helpers for builders generated in concurrent mode, which write their slots and set blocks
+ * masks via var handles cached in static final fields.
+ */
+public final class Concurrent {
+    private Concurrent() {
+        // Util class
+    }
+
+    /**
+     * Looks up the var handle for a field of the class the given lookup was created in.
+     *
+     * @param lookup Lookup with private access, created by the builder itself
+     * @param name The fields name
+     * @param type The fields erased type
+     * @return The var handle
+     * @throws IllegalStateException If the field does not exist or cannot be accessed
+     */
+    public static VarHandle findVarHandle(final MethodHandles.Lookup lookup, final String name, final Class<?> type) {
+        try {
+            return lookup.findVarHandle(lookup.lookupClass(), name, type);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access field " + name + " of " + lookup.lookupClass().getName(), e);
+        }
+    }
+}
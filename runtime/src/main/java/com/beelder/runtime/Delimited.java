@@ -0,0 +1,221 @@
+package com.beelder.runtime;
+
+/**
+ * Scanning and parsing helpers for builders generated with delimited columns, working on
+ * regions of a record without creating substrings.
+ */
+public final class Delimited {
+    private static final double[] DOUBLE_POWERS = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final float[] FLOAT_POWERS = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+    /**
+     * Significant digits always fitting into a long.
+     */
+    private static final int MAX_DIGITS = 18;
+
+    private Delimited() {
+        // Util class
+    }
+
+    /**
+     * Looks up the end of the column starting at begin.
+     *
+     * @param line The record
+     * @param begin Start of the column
+     * @param length Length of the record
+     * @param sep The column separator
+     * @return Index of the next separator, length if there is none
+     * @throws IllegalArgumentException If begin lies behind the end of the record
+     */
+    public static int nextSeparator(final CharSequence line, final int begin, final int length, final char sep) {
+        if(begin > length) {
+            throw new IllegalArgumentException("Record contains less columns than declared");
+        }
+
+        int end = begin;
+        while(end < length && line.charAt(end) != sep) {
+            end++;
+        }
+
+        return end;
+    }
+
+    /**
+     * Checks that the last declared column ends the record.
+     *
+     * @throws IllegalArgumentException If the record continues behind the last column
+     */
+    public static void requireEnd(final int end, final int length) {
+        if(end != length) {
+            throw new IllegalArgumentException("Record contains more columns than declared");
+        }
+    }
+
+    /**
+     * Parses a double between begin and end. Plain decimals whose digits and power of ten are
+     * exactly representable are computed in place, everything else is left to
+     * {@link Double#parseDouble(String)}, so the result is the same in both cases.
+     *
+     * @throws NumberFormatException If the region is no double
+     */
+    public static double parseDouble(final CharSequence line, final int begin, final int end) {
+        final double value = parseExactDecimal(line, begin, end, false);
+        return Double.isNaN(value) ? Double.parseDouble(line.subSequence(begin, end).toString()) : value;
+    }
+
+    /**
+     * Parses a float between begin and end, like {@link #parseDouble(CharSequence, int, int)}.
+     *
+     * @throws NumberFormatException If the region is no float
+     */
+    public static float parseFloat(final CharSequence line, final int begin, final int end) {
+        final double value = parseExactDecimal(line, begin, end, true);
+        return Double.isNaN(value) ? Float.parseFloat(line.subSequence(begin, end).toString()) : (float) value;
+    }
+
+    /**
+     * Parses an optionally signed decimal with optional fraction and exponent, if its digits and
+     * power of ten are exact in the target type. A single rounding step, multiplying or dividing
+     * them, then yields the correctly rounded value.
+     *
+     * @param single Whether to compute the value as float instead of double
+     * @return The parsed value, NaN if the region has to be parsed elsewhere
+     */
+    private static double parseExactDecimal(final CharSequence line, final int begin, final int end, final boolean single) {
+        int i = begin;
+        final boolean negative = i < end && line.charAt(i) == '-';
+        if(i < end && (negative || line.charAt(i) == '+')) {
+            i++;
+        }
+
+        long digits = 0;
+        int digitCount = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean fraction = false;
+        for(; i < end; i++) {
+            final char c = line.charAt(i);
+            if(c == '.' && !fraction) {
+                fraction = true;
+            } else if(c >= '0' && c <= '9') {
+                anyDigit = true;
+                if(digits == 0 && c == '0') {
+                    exponent -= fraction ? 1 : 0;
+                    continue;
+                }
+                if(digitCount == MAX_DIGITS) {
+                    return Double.NaN;
+                }
+
+                digits = digits * 10 + (c - '0');
+                digitCount++;
+                exponent -= fraction ? 1 : 0;
+            } else {
+                break;
+            }
+        }
+
+        if(!anyDigit) {
+            return Double.NaN;
+        }
+
+        if(i < end) {
+            if(line.charAt(i) != 'e' && line.charAt(i) != 'E') {
+                return Double.NaN;
+            }
+
+            i++;
+            final boolean negativeExponent = i < end && line.charAt(i) == '-';
+            if(i < end && (negativeExponent || line.charAt(i) == '+')) {
+                i++;
+            }
+            if(i == end || end - i > 3) {
+                return Double.NaN;
+            }
+
+            int explicit = 0;
+            for(; i < end; i++) {
+                final char c = line.charAt(i);
+                if(c < '0' || c > '9') {
+                    return Double.NaN;
+                }
+                explicit = explicit * 10 + (c - '0');
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+
+        if(digits == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+
+        final double value;
+        if(single) {
+            if(digits > 1L << 24 || Math.abs(exponent) >= FLOAT_POWERS.length) {
+                return Double.NaN;
+            }
+            value = exponent < 0 ? (float) digits / FLOAT_POWERS[-exponent] : (float) digits * FLOAT_POWERS[exponent];
+        } else {
+            if(digits > 1L << 53 || Math.abs(exponent) >= DOUBLE_POWERS.length) {
+                return Double.NaN;
+            }
+            value = exponent < 0 ? digits / DOUBLE_POWERS[-exponent] : digits * DOUBLE_POWERS[exponent];
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a decimal int between begin and end, checking it against the given bounds.
+     *
+     * @throws NumberFormatException If the region is no int or out of bounds
+     */
+    public static int parseIntInRange(final CharSequence line, final int begin, final int end, final int min, final int max) {
+        final int value = Integer.parseInt(line, begin, end, 10);
+        if(value < min || value > max) {
+            throw new NumberFormatException("Value out of range: " + value);
+        }
+
+        return value;
+    }
+
+    /**
+     * @throws IllegalArgumentException If the region does not contain exactly one character
+     */
+    public static char parseChar(final CharSequence line, final int begin, final int end) {
+        if(end - begin != 1) {
+            throw new IllegalArgumentException("Column does not contain a single character");
+        }
+
+        return line.charAt(begin);
+    }
+
+    /**
+     * @return True if the region equals "true", false if it equals "false", ignoring case
+     * @throws IllegalArgumentException If the region is neither "true" nor "false"
+     */
+    public static boolean parseBoolean(final CharSequence line, final int begin, final int end) {
+        if(regionEquals(line, begin, end, "true")) {
+            return true;
+        }
+        if(regionEquals(line, begin, end, "false")) {
+            return false;
+        }
+
+        throw new IllegalArgumentException("Column does not contain a boolean: " + line.subSequence(begin, end));
+    }
+
+    private static boolean regionEquals(final CharSequence line, final int begin, final int end, final String expected) {
+        if(end - begin != expected.length()) {
+            return false;
+        }
+
+        for(int i = 0; i < expected.length(); i++) {
+            if(Character.toLowerCase(line.charAt(begin + i)) != expected.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,82 @@
+package com.beelder.runtime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Handles null arguments passed to non-null building blocks of generated builders, as well as
+ * values violating their constraints, keeping the cold path out of the generated setters. The
+ * operations resemble the error operations of the NonNull and constraint annotations.
+ */
+public final class NullPolicy {
+    public static final int NO_OP = 0;
+    public static final int THROW_EXC = 1;
+    public static final int PRINT_TO_ERR = 2;
+    public static final int PRINT_TO_STDOUT = 3;
+    public static final int LOG_EXC = 4;
+
+    /**
+     * Counts logged messages per builder class, used for sampling. Held in a class value, so builder
+     * classes can be unloaded with their class loaders.
+     */
+    private static final ClassValue<AtomicLong> LOG_COUNTS = new ClassValue<>() {
+        @Override
+        protected AtomicLong computeValue(final Class<?> type) {
+            return new AtomicLong();
+        }
+    };
+
+    private static final ClassValue<Logger> LOGGERS = new ClassValue<>() {
+        @Override
+        protected Logger computeValue(final Class<?> type) {
+            return LoggerFactory.getLogger(type);
+        }
+    };
+
+    private NullPolicy() {
+        // Util class
+    }
+
+    /**
+     * Applies the given operation for a rejected argument.
+     *
+     * @param builder The builder the argument was passed to
+     * @param operation One of the operation constants of this class
+     * @param message The message to print, log or throw
+     * @param <B> The builders type
+     * @return The builder, to be returned by the setter
+     * @throws IllegalArgumentException If the operation is {@link #THROW_EXC}
+     */
+    public static <B> B reject(final B builder, final int operation, final String message) {
+        switch (operation) {
+            case THROW_EXC:
+                throw new IllegalArgumentException(message);
+            case PRINT_TO_ERR:
+                System.err.println(message);
+                break;
+            case PRINT_TO_STDOUT:
+                System.out.println(message);
+                break;
+            case LOG_EXC:
+                logSampled(builder.getClass(), message);
+                break;
+            default:
+                break;
+        }
+
+        return builder;
+    }
+
+    /**
+     * Logs the given message for the given builder class, sampled to the 1st, 2nd, 4th, 8th, ...
+     * occurrence per class to keep hot loops passing null from flooding the log.
+     */
+    private static void logSampled(final Class<?> source, final String message) {
+        final long count = LOG_COUNTS.get(source).incrementAndGet();
+        if(Long.bitCount(count) == 1) {
+            LOGGERS.get(source).error("{} ({} occurrences)", message, count);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.beelder.runtime;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Reflection helpers for generated builders with reflection enabled. Fields and constructors
+ * are looked up and made accessible once, generated builders cache them in static final fields.
+ */
+public final class Reflection {
+    private Reflection() {
+        // Util class
+    }
+
+    /**
+     * Looks up the declared field with the given name and makes it accessible.
+     *
+     * @param owner The class declaring the field
+     * @param name The fields name
+     * @return The accessible field
+     * @throws IllegalStateException If the field does not exist or cannot be made accessible
+     */
+    public static Field findField(final Class<?> owner, final String name) {
+        try {
+            final Field field = owner.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | RuntimeException e) {
+            throw new IllegalStateException("Cannot access field " + name + " of " + owner.getName(), e);
+        }
+    }
+
+    /**
+     * Sets the given field of the target to the given value.
+     *
+     * @param field Field looked up via {@link #findField(Class, String)}
+     * @param target The object to modify
+     * @param value The new value
+     */
+    public static void setField(final Field field, final Object target, final Object value) {
+        try {
+            field.set(target, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot set field " + field.getName(), e);
+        }
+    }
+
+    /**
+     * Reads the given field of the target.
+     *
+     * @param field Field looked up via {@link #findField(Class, String)}
+     * @param target The object to read from
+     * @param <T> The type of the field, primitives are boxed
+     * @return The fields value
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getField(final Field field, final Object target) {
+        try {
+            return (T) field.get(target);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot read field " + field.getName(), e);
+        }
+    }
+
+    /**
+     * Looks up the declared constructor with the given parameter types and makes it accessible.
+     *
+     * @param owner The class declaring the constructor
+     * @param parameterTypes The parameter types of the constructor
+     * @param <T> The type constructed
+     * @return The accessible constructor
+     * @throws IllegalStateException If the constructor does not exist or cannot be made accessible
+     */
+    public static <T> Constructor<T> findConstructor(final Class<T> owner, final Class<?>... parameterTypes) {
+        try {
+            final Constructor<T> constructor = owner.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException | RuntimeException e) {
+            throw new IllegalStateException("Cannot access constructor of " + owner.getName(), e);
+        }
+    }
+
+    /**
+     * Creates a new instance using the given constructor, exceptions thrown by the constructor
+     * itself are rethrown unchecked.
+     *
+     * @param constructor Constructor looked up via {@link #findConstructor(Class, Class[])}
+     * @param args The constructors arguments
+     * @param <T> The type constructed
+     * @return The new instance
+     */
+    public static <T> T newInstance(final Constructor<T> constructor, final Object... args) {
+        try {
+            return constructor.newInstance(args);
+        } catch (InvocationTargetException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if(e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw new IllegalStateException("Constructor of " + constructor.getName() + " failed", e.getCause());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException("Cannot invoke constructor of " + constructor.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.beelder.runtime;
+
+import java.util.Arrays;
+
+/**
+ * Packed storage of the values set in builders generated with the sparse layout, holding only the
+ * slots set so far. References and primitives are kept in separate areas, each consisting of an
+ * array of slot indices and an array of values, grown on demand. Primitives are stored as longs,
+ * floating point values by their raw bits.
+ */
+public final class SparseSlots {
+    private static final int[] NO_SLOTS = {};
+    private static final Object[] NO_REFS = {};
+    private static final long[] NO_PRIMITIVES = {};
+
+    private int[] refSlots = NO_SLOTS;
+    private Object[] refs = NO_REFS;
+    private int refCount;
+
+    private int[] primitiveSlots = NO_SLOTS;
+    private long[] primitives = NO_PRIMITIVES;
+    private int primitiveCount;
+
+    /**
+     * Sets the given slot to the given reference, replacing its previous value.
+     */
+    public void set(final int slot, final Object value) {
+        final int i = indexOf(this.refSlots, this.refCount, slot);
+        if(i >= 0) {
+            this.refs[i] = value;
+            return;
+        }
+
+        if(this.refCount == this.refSlots.length) {
+            final int capacity = grow(this.refCount);
+            this.refSlots = Arrays.copyOf(this.refSlots, capacity);
+            this.refs = Arrays.copyOf(this.refs, capacity);
+        }
+        this.refSlots[this.refCount] = slot;
+        this.refs[this.refCount++] = value;
+    }
+
+    /**
+     * Sets the given slot to the given primitive, replacing its previous value.
+     */
+    public void setLong(final int slot, final long value) {
+        final int i = indexOf(this.primitiveSlots, this.primitiveCount, slot);
+        if(i >= 0) {
+            this.primitives[i] = value;
+            return;
+        }
+
+        if(this.primitiveCount == this.primitiveSlots.length) {
+            final int capacity = grow(this.primitiveCount);
+            this.primitiveSlots = Arrays.copyOf(this.primitiveSlots, capacity);
+            this.primitives = Arrays.copyOf(this.primitives, capacity);
+        }
+        this.primitiveSlots[this.primitiveCount] = slot;
+        this.primitives[this.primitiveCount++] = value;
+    }
+
+    /**
+     * Sets the given slot to the raw bits of the given floating point value, replacing its previous value.
+     */
+    public void setDouble(final int slot, final double value) {
+        setLong(slot, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * @return True if the given slot has been set, false otherwise
+     */
+    public boolean contains(final int slot) {
+        return indexOf(this.refSlots, this.refCount, slot) >= 0 || indexOf(this.primitiveSlots, this.primitiveCount, slot) >= 0;
+    }
+
+    /**
+     * @return Number of slots set to references
+     */
+    public int refCount() {
+        return this.refCount;
+    }
+
+    /**
+     * @return The slot of the i-th reference set
+     */
+    public int refSlot(final int i) {
+        return this.refSlots[i];
+    }
+
+    /**
+     * @return The i-th reference set
+     */
+    public Object ref(final int i) {
+        return this.refs[i];
+    }
+
+    /**
+     * @return Number of slots set to primitives
+     */
+    public int primitiveCount() {
+        return this.primitiveCount;
+    }
+
+    /**
+     * @return The slot of the i-th primitive set
+     */
+    public int primitiveSlot(final int i) {
+        return this.primitiveSlots[i];
+    }
+
+    /**
+     * @return The i-th primitive set
+     */
+    public long primitive(final int i) {
+        return this.primitives[i];
+    }
+
+    /**
+     * @return The i-th primitive set, as floating point value
+     */
+    public double primitiveAsDouble(final int i) {
+        return Double.longBitsToDouble(this.primitives[i]);
+    }
+
+    private static int indexOf(final int[] slots, final int count, final int slot) {
+        for(int i = 0; i < count; i++) {
+            if(slots[i] == slot) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return The capacity following the given one, growing by half to keep the areas small
+     */
+    private static int grow(final int capacity) {
+        return Math.max(2, capacity + (capacity >> 1) + 1);
+    }
+}